@@ -3,42 +3,53 @@ package Day1;
 import java.util.Scanner;
 
 public class Arrays {
+    // how long a selected seat stays held while the user pays
+    private static final long HOLD_MILLIS = 2 * 60 * 1000;
+
     public static void main(String[] args) {
         Scanner sc = new Scanner(System.in);
-        int[] seats = new int[300];
+        // 30 rows of 10 seats, sections A-F of 5 rows each
+        SeatInventory seats = new SeatInventory(30, 10, 5);
+        String[] sectionViews = new String[seats.sections()];
         boolean stop = false;
 
         while(!stop){
-            System.out.println("Displaying Numbers of seats available");
-            for(int i = 0; i < seats.length; i++){
-                if(seats[i] == 0){
-                    System.out.print("[" + i + "]");
-                } else {
-                    System.out.print("[X]");
-                }
-
-
-                if(i < 9) System.out.print("    ");
-                else if(i < 99) System.out.print("   ");
-                else System.out.print("  ");
-
+            seats.expireHolds();
+            System.out.println("Displaying Numbers of seats available (free: " + seats.availableCount()
+                    + ", held: " + seats.heldCount() + ", booked: " + seats.bookedCount() + ")");
 
-                if((i + 1) % 10 == 0){
-                    System.out.println();
-                }
+            // only sections touched since the last loop are rendered again
+            for(int section : seats.drainChangedSections()){
+                sectionViews[section] = renderSection(seats, section);
+            }
+            for(String view : sectionViews){
+                System.out.print(view);
             }
 
             System.out.print("\nEnter seat number to book : ");
             int seatNum = sc.nextInt();
 
 
-            if(seatNum < 0 || seatNum >= 300){
+            if(seatNum < 0 || seatNum >= seats.capacity()){
                 System.out.println("Invalid seat number!");
-            } else if(seats[seatNum] == 1){
-                System.out.println("Seat already booked!");
+            } else if(!seats.tryHold(seatNum, HOLD_MILLIS)){
+                // not free: booked, held by someone paying, or claimed by a group booking
+                if(seats.isBooked(seatNum)){
+                    System.out.println("Seat already booked!");
+                } else {
+                    System.out.println("Seat is on hold for another customer, try again shortly.");
+                }
             } else {
-                seats[seatNum] = 1;
-                System.out.println("Seat " + seatNum + " booked successfully!");
+                System.out.println("Seat " + seatNum + " held for 2 minutes. Confirm payment? (Y/N): ");
+                char pay = sc.next().toUpperCase().charAt(0);
+                if(pay != 'Y'){
+                    seats.release(seatNum);
+                    System.out.println("Seat " + seatNum + " released.");
+                } else if(seats.confirm(seatNum)){
+                    System.out.println("Seat " + seatNum + " booked successfully!");
+                } else {
+                    System.out.println("Hold expired, please select the seat again.");
+                }
 
                 System.out.println("Continue booking? (Y/N): ");
                 char choice = sc.next().toUpperCase().charAt(0);
@@ -50,4 +61,33 @@ public class Arrays {
         }
         sc.close();
     }
+
+    private static String renderSection(SeatInventory seats, int section){
+        int firstRow = section * seats.rowsPerSection();
+        int lastRow = Math.min(seats.rows(), firstRow + seats.rowsPerSection()) - 1;
+        StringBuilder sb = new StringBuilder();
+        sb.append("Section ").append(seats.sectionName(section))
+                .append(" (free: ").append(seats.freeSeatsInRows(firstRow, lastRow)).append(")\n");
+
+        for(int i = firstRow * seats.seatsPerRow(); i < (lastRow + 1) * seats.seatsPerRow(); i++){
+            if(seats.isFree(i)){
+                sb.append("[").append(i).append("]");
+            } else if(seats.isHeld(i)){
+                sb.append("[H]");
+            } else {
+                sb.append("[X]");
+            }
+
+
+            if(i < 9) sb.append("    ");
+            else if(i < 99) sb.append("   ");
+            else sb.append("  ");
+
+
+            if((i + 1) % seats.seatsPerRow() == 0){
+                sb.append("\n");
+            }
+        }
+        return sb.toString();
+    }
 }
@@ -0,0 +1,49 @@
+package Day1;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// fenwick (binary indexed) tree of free seats per row.
+// update and range sum are O(log rows). nodes are atomic so booking threads can
+// update concurrently, a sum taken during updates is a best effort snapshot.
+class SeatAvailabilityIndex {
+    private final AtomicIntegerArray tree;
+    private final int rows;
+
+    SeatAvailabilityIndex(int rows, int seatsPerRow) {
+        this.rows = rows;
+        this.tree = new AtomicIntegerArray(rows + 1);
+
+        // O(n) build, every row starts fully free
+        int[] build = new int[rows + 1];
+        for (int i = 1; i <= rows; i++) {
+            build[i] += seatsPerRow;
+            int parent = i + (i & -i);
+            if (parent <= rows) {
+                build[parent] += build[i];
+            }
+        }
+        for (int i = 1; i <= rows; i++) {
+            tree.set(i, build[i]);
+        }
+    }
+
+    void add(int row, int delta) {
+        for (int i = row + 1; i <= rows; i += i & -i) {
+            tree.getAndAdd(i, delta);
+        }
+    }
+
+    // free seats in rows [0, row]
+    int prefix(int row) {
+        int sum = 0;
+        for (int i = row + 1; i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+
+    // free seats in rows [fromRow, toRow]
+    int range(int fromRow, int toRow) {
+        return prefix(toRow) - (fromRow > 0 ? prefix(fromRow - 1) : 0);
+    }
+}
@@ -0,0 +1,136 @@
+package Day1;
+
+// hashed timing wheel for seat hold expiry.
+// a hold goes into bucket (deadlineTick % wheelSize), so scheduling is O(1) and each
+// tick only looks at one bucket instead of scanning every seat.
+// many threads can schedule, advance() is expected to be called from one thread.
+// processedTick is only published once advance() is done, so a schedule() running
+// during a sweep can pick a tick whose bucket was already swept. each bucket keeps
+// the tick it was last swept through and turns such a hold away under its lock,
+// schedule() then moves it to the next tick the sweep has not reached.
+class SeatHoldWheel {
+    // receives holds whose deadline passed
+    interface ExpiryHandler {
+        void expire(int seat, int stamp);
+    }
+
+    private static final int INITIAL_BUCKET_CAPACITY = 16;
+
+    private final Bucket[] buckets;
+    private final int mask;
+    private final long tickMillis;
+    private final long startMillis;
+    // last tick that was fully processed
+    private volatile long processedTick;
+
+    SeatHoldWheel(int wheelSize, long tickMillis, long startMillis) {
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.processedTick = 0;
+    }
+
+    void schedule(int seat, int stamp, long deadlineMillis) {
+        // round up so a hold never expires before its deadline
+        long deadlineTick = (Math.max(0, deadlineMillis - startMillis) + tickMillis - 1) / tickMillis;
+        long earliest = processedTick + 1;
+        if (deadlineTick < earliest) {
+            deadlineTick = earliest;
+        }
+        long sweptThrough;
+        while ((sweptThrough = buckets[(int) (deadlineTick & mask)].add(seat, stamp, deadlineTick)) >= 0) {
+            // this turn's sweep already passed the bucket, it would sit there a whole turn
+            deadlineTick = sweptThrough + 1;
+        }
+    }
+
+    // runs every tick between the last call and now. if we fell behind by more than a
+    // full turn each bucket is visited once, so the catch up cost is bounded by the wheel
+    // size plus the number of expired holds.
+    int advance(long nowMillis, ExpiryHandler handler) {
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        long from = processedTick + 1;
+        if (targetTick < from) {
+            return 0;
+        }
+
+        int expired = 0;
+        long last = Math.min(targetTick, from + buckets.length - 1);
+        for (long tick = from; tick <= last; tick++) {
+            expired += buckets[(int) (tick & mask)].expire(targetTick, handler);
+        }
+        processedTick = targetTick;
+        return expired;
+    }
+
+    int pending() {
+        int total = 0;
+        for (Bucket bucket : buckets) {
+            total += bucket.size();
+        }
+        return total;
+    }
+
+    // entries kept in parallel primitive arrays so millions of holds do not mean
+    // millions of small objects
+    private static final class Bucket {
+        private int[] seats = new int[INITIAL_BUCKET_CAPACITY];
+        private int[] stamps = new int[INITIAL_BUCKET_CAPACITY];
+        private long[] deadlines = new long[INITIAL_BUCKET_CAPACITY];
+        private int size;
+        // every entry with a deadline up to here has been expired
+        private long sweptThrough;
+
+        // -1 when added, otherwise the tick the bucket was already swept through
+        synchronized long add(int seat, int stamp, long deadlineTick) {
+            if (deadlineTick <= sweptThrough) {
+                return sweptThrough;
+            }
+            if (size == seats.length) {
+                int newCapacity = size * 2;
+                seats = java.util.Arrays.copyOf(seats, newCapacity);
+                stamps = java.util.Arrays.copyOf(stamps, newCapacity);
+                deadlines = java.util.Arrays.copyOf(deadlines, newCapacity);
+            }
+            seats[size] = seat;
+            stamps[size] = stamp;
+            deadlines[size] = deadlineTick;
+            size++;
+            return -1;
+        }
+
+        // expires due entries and compacts the rest (later rounds) in one pass
+        synchronized int expire(long currentTick, ExpiryHandler handler) {
+            int kept = 0;
+            int expired = 0;
+            for (int i = 0; i < size; i++) {
+                if (deadlines[i] <= currentTick) {
+                    handler.expire(seats[i], stamps[i]);
+                    expired++;
+                } else {
+                    seats[kept] = seats[i];
+                    stamps[kept] = stamps[i];
+                    deadlines[kept] = deadlines[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            sweptThrough = currentTick;
+            return expired;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
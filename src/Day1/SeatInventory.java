@@ -0,0 +1,576 @@
+package Day1;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// thread safe seat map, two bits of state per seat packed into longs (32 seats per word).
+// every change is a CAS on a single word so no global lock is needed.
+public class SeatInventory {
+    private static final int SEATS_PER_WORD = 32;
+    private static final long FREE = 0L;
+    private static final long HELD = 1L;
+    private static final long BOOKED = 2L;
+    // taken by a bookAll that has not finished yet. no other operation moves a seat
+    // out of this state, so the batch can always undo exactly what it claimed
+    private static final long CLAIMED = 3L;
+    private static final long STATE_MASK = 3L;
+    // low bit of every seat's pair
+    private static final long SEAT_BITS = 0x5555555555555555L;
+
+    private static final int WHEEL_SIZE = 512;
+    private static final long WHEEL_TICK_MILLIS = 100;
+    private static final int MAX_STRIPES = 64;
+
+    private final AtomicLongArray states;
+    private final int capacity;
+    private final int rows;
+    private final int seatsPerRow;
+    private final int rowsPerSection;
+    private final int sections;
+    // LongAdder so the counters do not become the one contended cache line
+    private final LongAdder bookedCount;
+    private final LongAdder heldCount;
+
+    // hold bookkeeping, the stamp tells a stale wheel entry apart from a newer hold
+    private final AtomicIntegerArray holdStamps;
+    private final ReentrantLock[] stripes;
+    private final SeatHoldWheel holdWheel;
+
+    // free seats per row for range queries, and which sections changed since the
+    // last drainChangedSections() so a map view only redraws those
+    private final SeatAvailabilityIndex availability;
+    private final AtomicLongArray changedSections;
+
+    public SeatInventory(int capacity) {
+        this(1, capacity);
+    }
+
+    public SeatInventory(int rows, int seatsPerRow) {
+        this(rows, seatsPerRow, rows);
+    }
+
+    // seat number = row * seatsPerRow + position in row, sections are blocks of
+    // rowsPerSection rows named A, B, C...
+    public SeatInventory(int rows, int seatsPerRow, int rowsPerSection) {
+        if (rows <= 0 || seatsPerRow <= 0 || rowsPerSection <= 0) {
+            throw new IllegalArgumentException("Rows, seats per row and rows per section must be positive");
+        }
+        if ((long) rows * seatsPerRow > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many seats");
+        }
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.rowsPerSection = Math.min(rowsPerSection, rows);
+        this.sections = (rows + this.rowsPerSection - 1) / this.rowsPerSection;
+        this.capacity = rows * seatsPerRow;
+        int words = (capacity + SEATS_PER_WORD - 1) / SEATS_PER_WORD;
+        this.states = new AtomicLongArray(words);
+        this.bookedCount = new LongAdder();
+        this.heldCount = new LongAdder();
+        this.holdStamps = new AtomicIntegerArray(capacity);
+
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(words));
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.holdWheel = new SeatHoldWheel(WHEEL_SIZE, WHEEL_TICK_MILLIS, System.currentTimeMillis());
+        this.availability = new SeatAvailabilityIndex(rows, seatsPerRow);
+        this.changedSections = new AtomicLongArray((sections + 63) / 64);
+        for (int section = 0; section < sections; section++) {
+            markChanged(section);
+        }
+    }
+
+    // returns false if someone else already has the seat. O(1), retries only when
+    // another thread changed a neighbour seat in the same word.
+    public boolean tryBook(int seat) {
+        checkSeat(seat);
+        if (transition(seat, FREE, BOOKED)) {
+            bookedCount.increment();
+            seatChanged(seat, -1);
+            return true;
+        }
+        return false;
+    }
+
+    // returns false if the seat was not booked
+    public boolean cancel(int seat) {
+        checkSeat(seat);
+        if (transition(seat, BOOKED, FREE)) {
+            bookedCount.decrement();
+            seatChanged(seat, 1);
+            return true;
+        }
+        return false;
+    }
+
+    // books every seat or none of them. batch bookers take the stripe locks of the
+    // seats in ascending order so two batches never deadlock or undo each other, and
+    // each word is claimed with one CAS. single tryBook() calls stay lock free, so a seat
+    // can still be taken while later words are claimed; earlier words are then rolled back.
+    // claimed seats sit in CLAIMED until every word is in, so a concurrent cancel() or
+    // tryBook() can't touch them and the rollback never frees someone else's booking.
+    public boolean bookAll(int[] seats) {
+        int[] sorted = sortedSeats(seats);
+        if (sorted.length == 0) {
+            return true;
+        }
+
+        long stripeSet = stripesOf(sorted);
+        for (long bits = stripeSet; bits != 0; bits &= bits - 1) {
+            stripes[Long.numberOfTrailingZeros(bits)].lock();
+        }
+        try {
+            // words claimed so far and the seat pairs claimed in each
+            int[] words = new int[sorted.length];
+            long[] fields = new long[sorted.length];
+            int claimed = 0;
+            int start = 0;
+            while (start < sorted.length) {
+                int word = sorted[start] / SEATS_PER_WORD;
+                long wordFields = 0;
+                int end = start;
+                while (end < sorted.length && sorted[end] / SEATS_PER_WORD == word) {
+                    wordFields |= CLAIMED << ((sorted[end] % SEATS_PER_WORD) * 2);
+                    end++;
+                }
+                if (!claimWord(word, wordFields)) {
+                    rollback(words, fields, claimed);
+                    return false;
+                }
+                words[claimed] = word;
+                fields[claimed++] = wordFields;
+                start = end;
+            }
+            commit(words, fields, claimed);
+        } finally {
+            for (long bits = stripeSet; bits != 0; bits &= bits - 1) {
+                stripes[Long.numberOfTrailingZeros(bits)].unlock();
+            }
+        }
+        bookedCount.add(sorted.length);
+        for (int seat : sorted) {
+            seatChanged(seat, -1);
+        }
+        return true;
+    }
+
+    // finds the tightest free run of n seats in the row and books it, retrying
+    // if another thread got there first. returns the first seat or -1.
+    public int bookRun(int row, int n) {
+        while (true) {
+            int first = findBestRun(row, n);
+            if (first < 0) {
+                return -1;
+            }
+            int[] run = new int[n];
+            for (int i = 0; i < n; i++) {
+                run[i] = first + i;
+            }
+            if (bookAll(run)) {
+                return first;
+            }
+        }
+    }
+
+    // moves the seat pairs in fields (one word) from FREE to CLAIMED, all or nothing
+    private boolean claimWord(int word, long fields) {
+        while (true) {
+            long current = states.get(word);
+            // CLAIMED sets both bits of a pair, so any seat that is not FREE shows up here
+            if ((current & fields) != 0) {
+                return false;
+            }
+            if (states.compareAndSet(word, current, current | fields)) {
+                return true;
+            }
+        }
+    }
+
+    // every word is in: CLAIMED -> BOOKED by clearing the low bit of each claimed pair
+    private void commit(int[] words, long[] fields, int claimed) {
+        for (int i = 0; i < claimed; i++) {
+            clearBits(words[i], fields[i] & SEAT_BITS);
+        }
+    }
+
+    // undoes the words claimed by bookAll before it hit a taken seat: CLAIMED -> FREE
+    // for exactly the pairs this call claimed, neighbours in the word are left alone
+    private void rollback(int[] words, long[] fields, int claimed) {
+        for (int i = 0; i < claimed; i++) {
+            clearBits(words[i], fields[i]);
+        }
+    }
+
+    private void clearBits(int word, long bits) {
+        while (true) {
+            long current = states.get(word);
+            if (states.compareAndSet(word, current, current & ~bits)) {
+                return;
+            }
+        }
+    }
+
+    private int[] sortedSeats(int[] seats) {
+        if (seats == null) {
+            throw new IllegalArgumentException("Seats cannot be null");
+        }
+        int[] sorted = seats.clone();
+        java.util.Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            checkSeat(sorted[i]);
+            if (i > 0 && sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Duplicate seat: " + sorted[i]);
+            }
+        }
+        return sorted;
+    }
+
+    // stripes the seats fall into as a bit set (at most 64 stripes), locking them
+    // lowest bit first gives every batch the same lock order
+    private long stripesOf(int[] seats) {
+        long set = 0;
+        for (int seat : seats) {
+            set |= 1L << ((seat / SEATS_PER_WORD) & (stripes.length - 1));
+        }
+        return set;
+    }
+
+    // holds a free seat while the customer pays, it goes back to free after ttl
+    // unless confirm() is called first
+    public boolean tryHold(int seat, long ttlMillis) {
+        checkSeat(seat);
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Hold time must be positive");
+        }
+
+        int stamp;
+        ReentrantLock stripe = stripeFor(seat);
+        stripe.lock();
+        try {
+            if (!transition(seat, FREE, HELD)) {
+                return false;
+            }
+            stamp = holdStamps.incrementAndGet(seat);
+        } finally {
+            stripe.unlock();
+        }
+        heldCount.increment();
+        seatChanged(seat, -1);
+
+        // scheduled outside the stripe lock, expiry takes the locks the other way round
+        holdWheel.schedule(seat, stamp, System.currentTimeMillis() + ttlMillis);
+        return true;
+    }
+
+    // turns a hold into a booking, false if the hold already expired or was released
+    public boolean confirm(int seat) {
+        checkSeat(seat);
+        if (transition(seat, HELD, BOOKED)) {
+            heldCount.decrement();
+            bookedCount.increment();
+            seatChanged(seat, 0);
+            return true;
+        }
+        return false;
+    }
+
+    // gives a held seat back before its ttl runs out
+    public boolean release(int seat) {
+        checkSeat(seat);
+        if (transition(seat, HELD, FREE)) {
+            heldCount.decrement();
+            seatChanged(seat, 1);
+            return true;
+        }
+        return false;
+    }
+
+    // frees every hold whose ttl passed, cost is one wheel bucket per elapsed tick
+    // plus the expired holds. call it periodically from a single thread.
+    public int expireHolds() {
+        return expireHolds(System.currentTimeMillis());
+    }
+
+    public int expireHolds(long nowMillis) {
+        int[] released = new int[1];
+        holdWheel.advance(nowMillis, (seat, stamp) -> {
+            if (expireHold(seat, stamp)) released[0]++;
+        });
+        return released[0];
+    }
+
+    // the stamp check and the state change happen under the stripe lock that tryHold
+    // uses, so a newer hold on the same seat is never released by an old wheel entry
+    private boolean expireHold(int seat, int stamp) {
+        ReentrantLock stripe = stripeFor(seat);
+        stripe.lock();
+        try {
+            if (holdStamps.get(seat) != stamp || !transition(seat, HELD, FREE)) {
+                return false;
+            }
+        } finally {
+            stripe.unlock();
+        }
+        heldCount.decrement();
+        seatChanged(seat, 1);
+        return true;
+    }
+
+    public boolean isBooked(int seat) {
+        checkSeat(seat);
+        return stateOf(seat) == BOOKED;
+    }
+
+    public boolean isHeld(int seat) {
+        checkSeat(seat);
+        return stateOf(seat) == HELD;
+    }
+
+    public boolean isFree(int seat) {
+        checkSeat(seat);
+        return stateOf(seat) == FREE;
+    }
+
+    // first run of n adjacent free seats in the row, returns the first seat or -1.
+    // jumps over whole words of taken/free seats so cost depends on number of
+    // taken blocks in the row, not on the number of seats.
+    // result is a snapshot, the seats still have to be booked afterwards.
+    public int findFirstRun(int row, int n) {
+        checkRun(row, n);
+        int start = row * seatsPerRow;
+        int end = start + seatsPerRow;
+
+        int pos = start;
+        while (pos < end) {
+            int free = nextFree(pos, end);
+            if (free >= end) break;
+            int taken = nextTaken(free, end);
+            if (taken - free >= n) {
+                return free;
+            }
+            pos = taken;
+        }
+        return -1;
+    }
+
+    // smallest free gap that still fits n seats (keeps big gaps for big groups), or -1
+    public int findBestRun(int row, int n) {
+        checkRun(row, n);
+        int start = row * seatsPerRow;
+        int end = start + seatsPerRow;
+
+        int best = -1;
+        int bestLength = Integer.MAX_VALUE;
+        int pos = start;
+        while (pos < end) {
+            int free = nextFree(pos, end);
+            if (free >= end) break;
+            int taken = nextTaken(free, end);
+            int length = taken - free;
+            if (length >= n && length < bestLength) {
+                best = free;
+                bestLength = length;
+                if (length == n) break; // cannot do better than exact fit
+            }
+            pos = taken;
+        }
+        return best;
+    }
+
+    // first run of n free seats in any row, or -1
+    public int findFirstRun(int n) {
+        for (int row = 0; row < rows; row++) {
+            int seat = findFirstRun(row, n);
+            if (seat >= 0) return seat;
+        }
+        return -1;
+    }
+
+    // free seats in rows [fromRow, toRow], O(log rows)
+    public int freeSeatsInRows(int fromRow, int toRow) {
+        checkRowRange(fromRow, toRow);
+        return availability.range(fromRow, toRow);
+    }
+
+    // free seats in sections [from, to] e.g. ('A', 'F'), O(log rows)
+    public int freeSeatsInSections(char from, char to) {
+        return freeSeatsInSections(sectionIndex(from), sectionIndex(to));
+    }
+
+    public int freeSeatsInSections(int fromSection, int toSection) {
+        if (fromSection < 0 || toSection >= sections || fromSection > toSection) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Sections: %d-%d, Count: %d", fromSection, toSection, sections)
+            );
+        }
+        int fromRow = fromSection * rowsPerSection;
+        int toRow = Math.min(rows, (toSection + 1) * rowsPerSection) - 1;
+        return availability.range(fromRow, toRow);
+    }
+
+    // sections that changed since the last call (ascending), clears the marks
+    public int[] drainChangedSections() {
+        int[] changed = new int[sections];
+        int count = 0;
+        for (int word = 0; word < changedSections.length(); word++) {
+            long bits = changedSections.getAndSet(word, 0L);
+            while (bits != 0) {
+                changed[count++] = word * 64 + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return java.util.Arrays.copyOf(changed, count);
+    }
+
+    // keeps the availability tree and the changed marks in step with a state change
+    private void seatChanged(int seat, int freeDelta) {
+        int row = seat / seatsPerRow;
+        if (freeDelta != 0) {
+            availability.add(row, freeDelta);
+        }
+        markChanged(row / rowsPerSection);
+    }
+
+    private void markChanged(int section) {
+        int word = section >>> 6;
+        long bit = 1L << section;
+        while (true) {
+            long current = changedSections.get(word);
+            if ((current & bit) != 0 || changedSections.compareAndSet(word, current, current | bit)) {
+                return;
+            }
+        }
+    }
+
+    private int sectionIndex(char name) {
+        int section = Character.toUpperCase(name) - 'A';
+        if (section < 0 || section >= sections) {
+            throw new IllegalArgumentException("Unknown section: " + name);
+        }
+        return section;
+    }
+
+    // CAS one seat from expected to next state, false if the seat is in another state
+    private boolean transition(int seat, long expected, long next) {
+        int word = seat / SEATS_PER_WORD;
+        int shift = (seat % SEATS_PER_WORD) * 2;
+
+        while (true) {
+            long current = states.get(word);
+            if (((current >>> shift) & STATE_MASK) != expected) {
+                return false;
+            }
+            long updated = (current & ~(STATE_MASK << shift)) | (next << shift);
+            if (states.compareAndSet(word, current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    private long stateOf(int seat) {
+        int shift = (seat % SEATS_PER_WORD) * 2;
+        return (states.get(seat / SEATS_PER_WORD) >>> shift) & STATE_MASK;
+    }
+
+    // one bit (the low bit of the pair) per held or booked seat
+    private static long takenBits(long word) {
+        return (word | (word >>> 1)) & SEAT_BITS;
+    }
+
+    // next free seat in [from, limit), or limit if none
+    private int nextFree(int from, int limit) {
+        int word = from / SEATS_PER_WORD;
+        long bits = ~takenBits(states.get(word)) & SEAT_BITS & (-1L << ((from % SEATS_PER_WORD) * 2));
+        while (true) {
+            if (bits != 0) {
+                return Math.min(word * SEATS_PER_WORD + Long.numberOfTrailingZeros(bits) / 2, limit);
+            }
+            if (++word * SEATS_PER_WORD >= limit) return limit;
+            bits = ~takenBits(states.get(word)) & SEAT_BITS;
+        }
+    }
+
+    // next held or booked seat in [from, limit), or limit if none
+    private int nextTaken(int from, int limit) {
+        int word = from / SEATS_PER_WORD;
+        long bits = takenBits(states.get(word)) & (-1L << ((from % SEATS_PER_WORD) * 2));
+        while (true) {
+            if (bits != 0) {
+                return Math.min(word * SEATS_PER_WORD + Long.numberOfTrailingZeros(bits) / 2, limit);
+            }
+            if (++word * SEATS_PER_WORD >= limit) return limit;
+            bits = takenBits(states.get(word));
+        }
+    }
+
+    private ReentrantLock stripeFor(int seat) {
+        return stripes[(seat / SEATS_PER_WORD) & (stripes.length - 1)];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int seatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public int sections() {
+        return sections;
+    }
+
+    public int rowsPerSection() {
+        return rowsPerSection;
+    }
+
+    public char sectionName(int section) {
+        return (char) ('A' + section);
+    }
+
+    public int bookedCount() {
+        return bookedCount.intValue();
+    }
+
+    public int heldCount() {
+        return heldCount.intValue();
+    }
+
+    public int availableCount() {
+        return capacity - bookedCount.intValue() - heldCount.intValue();
+    }
+
+    private void checkRowRange(int fromRow, int toRow) {
+        if (fromRow < 0 || toRow >= rows || fromRow > toRow) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Rows: %d-%d, Count: %d", fromRow, toRow, rows)
+            );
+        }
+    }
+
+    private void checkRun(int row, int n) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Row: %d, Rows: %d", row, rows)
+            );
+        }
+        if (n <= 0 || n > seatsPerRow) {
+            throw new IllegalArgumentException("Group size must be between 1 and " + seatsPerRow);
+        }
+    }
+
+    private void checkSeat(int seat) {
+        if (seat < 0 || seat >= capacity) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Seat: %d, Capacity: %d", seat, capacity)
+            );
+        }
+    }
+}
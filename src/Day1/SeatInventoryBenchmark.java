@@ -0,0 +1,362 @@
+package Day1;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// stress test + throughput run for SeatInventory, run main directly.
+public class SeatInventoryBenchmark {
+    private static final int SEATS = 100_000;
+    private static final int OPS_PER_THREAD = 2_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Double booking check (" + SEATS + " seats)");
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            checkNoDoubleBooking(threads);
+        }
+        System.out.println("\nbookAll racing tryBook/cancel (" + PARTY_SEATS + " seats)");
+        // at least 4 threads, even on one core preemption mid-batch is what exposes it
+        for (int threads = 2; threads <= Math.max(4, cores); threads *= 2) {
+            checkBatchRollback(threads);
+        }
+
+        System.out.println("\nThroughput (book/cancel mix, " + OPS_PER_THREAD + " ops per thread)");
+        double single = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            double opsPerSec = measureThroughput(threads);
+            if (threads == 1) single = opsPerSec;
+            System.out.printf("%2d threads: %,12.0f ops/s  (x%.2f)\n", threads, opsPerSec, opsPerSec / single);
+        }
+
+        System.out.println("\nGroup seat search (100 rows x 1000 seats, 90% booked)");
+        measureRunSearch(6);
+
+        System.out.println("\nHold expiry (1M holds, ttl 1-60s)");
+        measureHoldExpiry();
+
+        System.out.println("\nParty booking, 6 random seats out of 2000 (striped bookAll vs lock per seat)");
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            double striped = measureParties(threads, new StripedParties());
+            double perSeat = measureParties(threads, new PerSeatLockParties());
+            System.out.printf("%2d threads: bookAll %,12.0f parties/s   per seat locks %,12.0f parties/s\n",
+                    threads, striped, perSeat);
+        }
+    }
+
+    private static final int PARTY_SEATS = 2_000;
+    private static final int PARTY_SIZE = 6;
+    private static final int PARTIES_PER_THREAD = 500_000;
+
+    // books a whole party or nothing, then frees it again so the venue never fills up
+    private interface PartyBooker {
+        boolean bookAll(int[] seats);
+        void cancelAll(int[] seats);
+    }
+
+    private static final class StripedParties implements PartyBooker {
+        private final SeatInventory inventory = new SeatInventory(PARTY_SEATS);
+
+        public boolean bookAll(int[] seats) {
+            return inventory.bookAll(seats);
+        }
+
+        public void cancelAll(int[] seats) {
+            for (int seat : seats) inventory.cancel(seat);
+        }
+    }
+
+    // the straightforward version: a lock per seat, taken in seat order
+    private static final class PerSeatLockParties implements PartyBooker {
+        private final ReentrantLock[] locks = new ReentrantLock[PARTY_SEATS];
+        private final boolean[] booked = new boolean[PARTY_SEATS];
+
+        PerSeatLockParties() {
+            for (int i = 0; i < PARTY_SEATS; i++) locks[i] = new ReentrantLock();
+        }
+
+        public boolean bookAll(int[] seats) {
+            int[] sorted = seats.clone();
+            java.util.Arrays.sort(sorted);
+            for (int seat : sorted) locks[seat].lock();
+            try {
+                for (int seat : sorted) {
+                    if (booked[seat]) return false;
+                }
+                for (int seat : sorted) booked[seat] = true;
+                return true;
+            } finally {
+                for (int seat : sorted) locks[seat].unlock();
+            }
+        }
+
+        public void cancelAll(int[] seats) {
+            for (int seat : seats) {
+                locks[seat].lock();
+                try {
+                    booked[seat] = false;
+                } finally {
+                    locks[seat].unlock();
+                }
+            }
+        }
+    }
+
+    private static double measureParties(int threads, PartyBooker booker) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int[] party = new int[PARTY_SIZE];
+                await(start);
+                for (int i = 0; i < PARTIES_PER_THREAD; i++) {
+                    int first = random.nextInt(PARTY_SEATS - PARTY_SIZE * 4);
+                    for (int p = 0; p < PARTY_SIZE; p++) {
+                        party[p] = first + p * 4; // spread over neighbouring words
+                    }
+                    if (booker.bookAll(party)) {
+                        booker.cancelAll(party);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - begin;
+
+        return (double) threads * PARTIES_PER_THREAD / (elapsed / 1e9);
+    }
+
+    // holds every seat then walks the clock forward tick by tick
+    private static void measureHoldExpiry() {
+        SeatInventory inventory = new SeatInventory(1000, 1000);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long begin = System.nanoTime();
+        for (int seat = 0; seat < inventory.capacity(); seat++) {
+            inventory.tryHold(seat, 1_000 + random.nextInt(59_000));
+        }
+        long holdNanos = System.nanoTime() - begin;
+
+        long now = System.currentTimeMillis();
+        long worstTick = 0;
+        int released = 0;
+        begin = System.nanoTime();
+        for (long clock = now; clock <= now + 61_000; clock += 100) {
+            long tickStart = System.nanoTime();
+            released += inventory.expireHolds(clock);
+            worstTick = Math.max(worstTick, System.nanoTime() - tickStart);
+        }
+        long expireNanos = System.nanoTime() - begin;
+
+        System.out.printf("hold:   %,d ns per seat\n", holdNanos / inventory.capacity());
+        System.out.printf("expire: %,d ns per hold, worst tick %,d us\n",
+                expireNanos / Math.max(1, released), worstTick / 1000);
+        System.out.println("released=" + released + " held=" + inventory.heldCount()
+                + " free=" + inventory.availableCount());
+    }
+
+    // compares the word level run search with probing seat by seat
+    private static void measureRunSearch(int groupSize) {
+        int rows = 100;
+        int seatsPerRow = 1000;
+        SeatInventory inventory = new SeatInventory(rows, seatsPerRow);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int seat = 0; seat < inventory.capacity(); seat++) {
+            if (random.nextInt(10) != 0) inventory.tryBook(seat);
+        }
+
+        int rounds = 2_000;
+        int checksum = 0;
+        for (int warmup = 0; warmup < rounds; warmup++) {
+            checksum += inventory.findFirstRun(groupSize) + linearFirstRun(inventory, groupSize);
+        }
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            checksum += inventory.findFirstRun(groupSize);
+        }
+        long bitmap = (System.nanoTime() - begin) / rounds;
+
+        begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (int row = 0; row < rows; row++) {
+                checksum += inventory.findBestRun(row, groupSize);
+            }
+        }
+        long bestFit = (System.nanoTime() - begin) / rounds;
+
+        begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            checksum += linearFirstRun(inventory, groupSize);
+        }
+        long linear = (System.nanoTime() - begin) / rounds;
+
+        System.out.printf("first run of %d (bitmap):             %,8d ns\n", groupSize, bitmap);
+        System.out.printf("first run of %d (seat by seat):       %,8d ns\n", groupSize, linear);
+        System.out.printf("best run of %d in every row (bitmap): %,8d ns\n", groupSize, bestFit);
+        System.out.println("first run agrees with linear scan: "
+                + (inventory.findFirstRun(groupSize) == linearFirstRun(inventory, groupSize))
+                + " (checksum " + checksum + ")");
+    }
+
+    private static int linearFirstRun(SeatInventory inventory, int n) {
+        for (int row = 0; row < inventory.rows(); row++) {
+            int run = 0;
+            int start = row * inventory.seatsPerRow();
+            for (int seat = start; seat < start + inventory.seatsPerRow(); seat++) {
+                run = inventory.isBooked(seat) ? 0 : run + 1;
+                if (run == n) return seat - n + 1;
+            }
+        }
+        return -1;
+    }
+
+    // every thread tries to book every seat, each seat must be won by exactly one thread
+    private static void checkNoDoubleBooking(int threads) throws InterruptedException {
+        SeatInventory inventory = new SeatInventory(SEATS);
+        int[][] won = new int[threads][SEATS];
+        int[] wonCount = new int[threads];
+        Thread[] workers = new Thread[threads];
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                await(start);
+                int offset = id * (SEATS / threads);
+                for (int i = 0; i < SEATS; i++) {
+                    int seat = (offset + i) % SEATS;
+                    if (inventory.tryBook(seat)) {
+                        won[id][wonCount[id]++] = seat;
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+
+        int[] winners = new int[SEATS];
+        int total = 0;
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < wonCount[t]; i++) {
+                winners[won[t][i]]++;
+            }
+            total += wonCount[t];
+        }
+
+        boolean ok = total == SEATS && inventory.bookedCount() == SEATS;
+        for (int count : winners) {
+            if (count != 1) ok = false;
+        }
+        System.out.printf("%2d threads: %s (bookings=%d, counter=%d)\n",
+                threads, ok ? "OK" : "DOUBLE BOOKED", total, inventory.bookedCount());
+    }
+
+    private static final int RACE_OPS_PER_THREAD = 1_000_000;
+
+    // half the threads book parties with bookAll, the other half tryBook or cancel
+    // random seats, so single seat calls keep hitting words a batch is halfway through.
+    // every successful book adds one to the seat's owner count and every successful
+    // cancel takes one off: at the end each booked seat must be owned exactly once,
+    // each free seat not at all, and the counters and free seat index must agree.
+    // a rollback that frees a seat some other call booked in the meantime shows up
+    // as an owned seat that is free.
+    private static void checkBatchRollback(int threads) throws InterruptedException {
+        SeatInventory inventory = new SeatInventory(PARTY_SEATS / 100, 100);
+        AtomicIntegerArray owners = new AtomicIntegerArray(PARTY_SEATS);
+        Thread[] workers = new Thread[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        int[] failedBatches = new int[threads];
+
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int[] party = new int[PARTY_SIZE];
+                await(start);
+                for (int i = 0; i < RACE_OPS_PER_THREAD; i++) {
+                    if (id % 2 == 0) {
+                        int first = random.nextInt(PARTY_SEATS - PARTY_SIZE * 8);
+                        for (int p = 0; p < PARTY_SIZE; p++) {
+                            party[p] = first + p * 8;
+                        }
+                        if (inventory.bookAll(party)) {
+                            for (int seat : party) owners.incrementAndGet(seat);
+                        } else {
+                            failedBatches[id]++;
+                        }
+                    } else {
+                        int seat = random.nextInt(PARTY_SEATS);
+                        if (inventory.tryBook(seat)) {
+                            owners.incrementAndGet(seat);
+                        } else if (inventory.cancel(seat)) {
+                            owners.decrementAndGet(seat);
+                        }
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+
+        boolean ok = true;
+        int booked = 0;
+        for (int seat = 0; seat < PARTY_SEATS; seat++) {
+            boolean isBooked = inventory.isBooked(seat);
+            if (!isBooked && !inventory.isFree(seat)) ok = false;
+            if (owners.get(seat) != (isBooked ? 1 : 0)) ok = false;
+            if (isBooked) booked++;
+        }
+        int free = inventory.freeSeatsInRows(0, inventory.rows() - 1);
+        ok &= booked == inventory.bookedCount() && free == PARTY_SEATS - booked;
+        int failed = 0;
+        for (int count : failedBatches) failed += count;
+        System.out.printf("%2d threads: %s (booked=%d, counter=%d, free index=%d, rolled back batches=%d)\n",
+                threads, ok ? "OK" : "CORRUPTED", booked, inventory.bookedCount(), free, failed);
+    }
+
+    private static double measureThroughput(int threads) throws InterruptedException {
+        SeatInventory inventory = new SeatInventory(SEATS);
+        Thread[] workers = new Thread[threads];
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                await(start);
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    int seat = random.nextInt(SEATS);
+                    if (!inventory.tryBook(seat)) {
+                        inventory.cancel(seat);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - begin;
+
+        return (double) threads * OPS_PER_THREAD / (elapsed / 1e9);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
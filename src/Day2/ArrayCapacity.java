@@ -0,0 +1,37 @@
+package Day2;
+
+// the growth and shrink policy shared by DynamicArrayList and its primitive variants:
+// grow by 1.5x (or straight to what is needed), shrink by the same step once the
+// array is less than a quarter full, never below MIN_CAPACITY
+final class ArrayCapacity {
+    static final int DEFAULT_CAPACITY = 10;
+    static final float GROWTH_FACTOR = 1.5f;
+    static final float SHRINK_FACTOR = 0.25f;
+    static final int MIN_CAPACITY = 10;
+
+    private ArrayCapacity() {
+    }
+
+    // capacity to grow to so minCapacity elements fit, at least one 1.5x step
+    static int grown(int capacity, int minCapacity) {
+        return Math.max(minCapacity, (int) (capacity * GROWTH_FACTOR));
+    }
+
+    // capacity after one shrink step, or the same capacity if size still fits well
+    static int shrunk(int capacity, int size) {
+        if (capacity > MIN_CAPACITY && size < capacity * SHRINK_FACTOR) {
+            return Math.max(MIN_CAPACITY, (int) (capacity / GROWTH_FACTOR));
+        }
+        return capacity;
+    }
+
+    // every shrink step one by one removes would have taken, for bulk removals
+    static int shrunkFully(int capacity, int size) {
+        int shrunk = shrunk(capacity, size);
+        while (shrunk != capacity) {
+            capacity = shrunk;
+            shrunk = shrunk(capacity, size);
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,91 @@
+package Day2;
+
+import java.util.concurrent.CountDownLatch;
+
+// ConcurrentAppendBuffer vs a synchronized DynamicArrayList with 1-16 producer threads,
+// run main directly. the same total number of elements is split over the producers,
+// and one consumer drains the lock free buffer while they run.
+public class ConcurrentAppendBenchmark {
+    private static final int TOTAL = 16_000_000;
+    private static final int ROUNDS = 3;
+
+    private interface Sink {
+        void add(Object element);
+    }
+
+    // what the capture code would otherwise do
+    private static final class SynchronizedList implements Sink {
+        private final DynamicArrayList<Object> list = new DynamicArrayList<>();
+
+        public synchronized void add(Object element) {
+            list.add(element);
+        }
+
+        synchronized int size() {
+            return list.size();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println(TOTAL + " appends, million appends per second ("
+                + Runtime.getRuntime().availableProcessors() + " cores)");
+        System.out.printf("%-10s %16s %16s\n", "producers", "lock free", "synchronized");
+
+        for (int producers = 1; producers <= 16; producers *= 2) {
+            double lockFree = 0;
+            double locked = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                ConcurrentAppendBuffer<Object> buffer = new ConcurrentAppendBuffer<>();
+                long[] consumed = new long[1];
+                Thread consumer = new Thread(() -> {
+                    while (consumed[0] < TOTAL) {
+                        consumed[0] += buffer.drain(element -> { });
+                        Thread.onSpinWait();
+                    }
+                });
+                consumer.start();
+                lockFree = Math.max(lockFree, run(producers, buffer::add));
+                consumer.join();
+                check(buffer.watermark() == TOTAL && consumed[0] == TOTAL, "lock free buffer lost elements");
+
+                SynchronizedList list = new SynchronizedList();
+                locked = Math.max(locked, run(producers, list));
+                check(list.size() == TOTAL, "synchronized list lost elements");
+            }
+            System.out.printf("%-10d %16.1f %16.1f\n", producers, lockFree / 1e6, locked / 1e6);
+        }
+    }
+
+    private static double run(int producers, Sink sink) throws InterruptedException {
+        Thread[] threads = new Thread[producers];
+        CountDownLatch start = new CountDownLatch(1);
+        int perProducer = TOTAL / producers;
+        Object element = new Object();
+
+        for (int t = 0; t < producers; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    sink.add(element);
+                }
+            });
+            threads[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+        return (double) perProducer * producers / ((System.nanoTime() - begin) / 1e9);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
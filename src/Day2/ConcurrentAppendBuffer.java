@@ -0,0 +1,93 @@
+package Day2;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// append only buffer many producer threads can add to at once, read by one consumer.
+// a producer claims a slot with one getAndIncrement, so producers never wait for each
+// other. slots live in fixed size segments that are created on first use and hung
+// into a directory with a CAS, growth never copies or moves elements.
+// a slot becomes visible when its element is stored, the consumer reads up to the
+// watermark = first slot that is claimed but not stored yet.
+class ConcurrentAppendBuffer<T> {
+    private static final int SEGMENT_SHIFT = 14;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int MAX_SEGMENTS = 1 << 16;
+    static final int MAX_CAPACITY = MAX_SEGMENTS << SEGMENT_SHIFT;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<T>> segments =
+            new AtomicReferenceArray<>(MAX_SEGMENTS);
+    private final AtomicInteger claimed = new AtomicInteger();
+
+    // consumer side, only touched by the consumer thread
+    private int watermark;
+    private int readIndex;
+
+    // safe from any thread
+    public void add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Null elements not allowed");
+        }
+        int index = claimed.getAndIncrement();
+        if (index < 0 || index >= MAX_CAPACITY) {
+            claimed.decrementAndGet();
+            throw new IllegalStateException("Buffer is full");
+        }
+        // release store, pairs with the consumer's volatile read of the slot
+        segment(index >>> SEGMENT_SHIFT).lazySet(index & SEGMENT_MASK, element);
+    }
+
+    private AtomicReferenceArray<T> segment(int segmentIndex) {
+        AtomicReferenceArray<T> segment = segments.get(segmentIndex);
+        if (segment == null) {
+            AtomicReferenceArray<T> created = new AtomicReferenceArray<>(SEGMENT_SIZE);
+            // whoever loses the race uses the winner's segment
+            segment = segments.compareAndSet(segmentIndex, null, created)
+                    ? created : segments.get(segmentIndex);
+        }
+        return segment;
+    }
+
+    // consumer only: number of slots from 0 that are fully published
+    public int watermark() {
+        int limit = claimed.get();
+        if (limit > MAX_CAPACITY) limit = MAX_CAPACITY;
+        while (watermark < limit) {
+            AtomicReferenceArray<T> segment = segments.get(watermark >>> SEGMENT_SHIFT);
+            if (segment == null || segment.get(watermark & SEGMENT_MASK) == null) {
+                break;
+            }
+            watermark++;
+        }
+        return watermark;
+    }
+
+    // consumer only: index must be below watermark()
+    public T get(int index) {
+        if (index < 0 || index >= watermark) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Watermark: %d", index, watermark)
+            );
+        }
+        return segments.get(index >>> SEGMENT_SHIFT).get(index & SEGMENT_MASK);
+    }
+
+    // consumer only: hands every newly published element to the consumer, in claim order
+    public int drain(Consumer<? super T> consumer) {
+        int limit = watermark();
+        int count = 0;
+        while (readIndex < limit) {
+            consumer.accept(segments.get(readIndex >>> SEGMENT_SHIFT).get(readIndex & SEGMENT_MASK));
+            readIndex++;
+            count++;
+        }
+        return count;
+    }
+
+    // claimed slots, some may still be in flight
+    public int size() {
+        return Math.min(claimed.get(), MAX_CAPACITY);
+    }
+}
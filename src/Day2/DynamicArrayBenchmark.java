@@ -0,0 +1,114 @@
+package Day2;
+
+import java.util.ArrayList;
+
+// primitive vs boxed arrays, run main directly.
+// no JMH in this project so it is a plain warmup + timed rounds harness,
+// the checksum keeps the JIT from dropping the loops.
+public class DynamicArrayBenchmark {
+    private static final int ELEMENTS = 5_000_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    private static long checksum;
+
+    public static void main(String[] args) {
+        System.out.println("add / get / remove of " + ELEMENTS + " elements, ms per round");
+        System.out.printf("%-28s %8s %8s %8s\n", "", "add", "get", "remove");
+
+        run("IntDynamicArray", DynamicArrayBenchmark::intArray);
+        run("LongDynamicArray", DynamicArrayBenchmark::longArray);
+        run("DynamicArrayList<Integer>", DynamicArrayBenchmark::genericArray);
+        run("ArrayList<Integer>", DynamicArrayBenchmark::arrayList);
+
+        System.out.println("checksum " + checksum);
+    }
+
+    private interface Workload {
+        // fills timings[0..2] with add/get/remove nanos
+        void run(long[] timings);
+    }
+
+    private static void run(String name, Workload workload) {
+        long[] timings = new long[3];
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            workload.run(timings);
+        }
+
+        long[] total = new long[3];
+        for (int i = 0; i < ROUNDS; i++) {
+            workload.run(timings);
+            for (int t = 0; t < 3; t++) total[t] += timings[t];
+        }
+        System.out.printf("%-28s %8.1f %8.1f %8.1f\n", name,
+                total[0] / 1e6 / ROUNDS, total[1] / 1e6 / ROUNDS, total[2] / 1e6 / ROUNDS);
+    }
+
+    private static void intArray(long[] timings) {
+        long start = System.nanoTime();
+        IntDynamicArray list = new IntDynamicArray();
+        for (int i = 0; i < ELEMENTS; i++) list.add(i);
+        timings[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) sum += list.get(i);
+        timings[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        while (list.size() > 0) sum += list.remove(list.size() - 1);
+        timings[2] = System.nanoTime() - start;
+        checksum += sum;
+    }
+
+    private static void longArray(long[] timings) {
+        long start = System.nanoTime();
+        LongDynamicArray list = new LongDynamicArray();
+        for (int i = 0; i < ELEMENTS; i++) list.add(i);
+        timings[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) sum += list.get(i);
+        timings[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        while (list.size() > 0) sum += list.remove(list.size() - 1);
+        timings[2] = System.nanoTime() - start;
+        checksum += sum;
+    }
+
+    private static void genericArray(long[] timings) {
+        long start = System.nanoTime();
+        DynamicArrayList<Integer> list = new DynamicArrayList<>();
+        for (int i = 0; i < ELEMENTS; i++) list.add(i);
+        timings[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) sum += list.get(i);
+        timings[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        while (list.size() > 0) sum += list.remove(list.size() - 1);
+        timings[2] = System.nanoTime() - start;
+        checksum += sum;
+    }
+
+    private static void arrayList(long[] timings) {
+        long start = System.nanoTime();
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < ELEMENTS; i++) list.add(i);
+        timings[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) sum += list.get(i);
+        timings[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        while (list.size() > 0) sum += list.remove(list.size() - 1);
+        timings[2] = System.nanoTime() - start;
+        checksum += sum;
+    }
+}
@@ -0,0 +1,344 @@
+package Day2;
+
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+class DynamicArrayList<T> implements Iterable<T> {
+    private static final int DEFAULT_CAPACITY = ArrayCapacity.DEFAULT_CAPACITY;
+
+    private Object[] array;
+    private int size;
+    // bumped on every structural change so iterators can fail fast
+    private int modCount;
+
+    public DynamicArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DynamicArrayList(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.array = new Object[initialCapacity];
+        this.size = 0;
+    }
+
+    private void resize(int newCapacity) {
+        Object[] newArray = new Object[newCapacity];
+        System.arraycopy(array, 0, newArray, 0, size);
+        array = newArray;
+    }
+
+    private void ensureCapacity() {
+        if (size == array.length) {
+            ensureCapacity(size + 1);
+        }
+    }
+
+    // grows once to fit minCapacity elements (at least the normal 1.5x step)
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            resize(ArrayCapacity.grown(array.length, minCapacity));
+        }
+    }
+
+    private void shrinkIfNeeded() {
+        int capacity = ArrayCapacity.shrunk(array.length, size);
+        if (capacity != array.length) {
+            resize(capacity);
+        }
+    }
+
+    // after a bulk remove: applies all the shrink steps remove() would have done
+    // one by one, but copies only once
+    private void shrinkAfterBulkRemove() {
+        int capacity = ArrayCapacity.shrunkFully(array.length, size);
+        if (capacity != array.length) {
+            resize(capacity);
+        }
+    }
+
+    public void add(T element) {
+        ensureCapacity();
+        array[size++] = element;
+        modCount++;
+    }
+
+    // the list's ownership of the element passes to the caller: a reference counted
+    // element is not released here, the caller release()s it when done with it
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkIndex(index);
+
+        T removedElement = (T) array[index];
+
+        // Shift elements left
+        int numMoved = size - index - 1;
+        if (numMoved > 0) {
+            System.arraycopy(array, index + 1, array, index, numMoved);
+        }
+
+
+        array[--size] = null;
+        modCount++;
+
+
+        shrinkIfNeeded();
+
+        return removedElement;
+    }
+
+    public void addAll(Collection<? extends T> elements) {
+        ensureCapacity(size + elements.size());
+        for (T element : elements) {
+            array[size++] = element;
+        }
+        modCount++;
+    }
+
+    // both lists own the copied elements afterwards, so counted ones are retained
+    public void addAll(DynamicArrayList<? extends T> other) {
+        int count = other.size;
+        ensureCapacity(size + count);
+        System.arraycopy(other.array, 0, array, size, count);
+        for (int i = size; i < size + count; i++) {
+            if (array[i] instanceof ReferenceCounted) {
+                ((ReferenceCounted) array[i]).retain();
+            }
+        }
+        size += count;
+        modCount++;
+    }
+
+    // removes [fromIndex, toIndex) with one tail copy, O(n)
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                    String.format("From: %d, To: %d, Size: %d", fromIndex, toIndex, size)
+            );
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            releaseIfCounted(array[i]);
+        }
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+
+        int newSize = size - (toIndex - fromIndex);
+        for (int i = newSize; i < size; i++) {
+            array[i] = null;
+        }
+        size = newSize;
+        modCount++;
+
+        shrinkAfterBulkRemove();
+    }
+
+    // kept elements slide down over removed ones in one compaction pass, O(n)
+    // instead of one arraycopy per removed element. the filter runs first over
+    // the whole list so an exception from it leaves the list untouched
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+
+        long[] removed = new long[(size + 63) >>> 6];
+        int removeCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test((T) array[i])) {
+                removed[i >>> 6] |= 1L << i;
+                removeCount++;
+            }
+        }
+        if (removeCount == 0) {
+            return false;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if ((removed[i >>> 6] & (1L << i)) != 0) {
+                releaseIfCounted(array[i]);
+            } else {
+                array[kept++] = array[i];
+            }
+        }
+
+        for (int i = kept; i < size; i++) {
+            array[i] = null;
+        }
+        size = kept;
+        modCount++;
+
+        shrinkAfterBulkRemove();
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) array[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return array.length;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final int expectedModCount = modCount;
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (T) array[currentIndex++];
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator(0, -1);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // splits by halving the index range, so every part knows its exact size
+    // (SIZED | SUBSIZED) and parallel streams can divide work evenly.
+    // late binding: the range and modCount are taken on first use, not at creation
+    private final class ArraySpliterator implements Spliterator<T> {
+        private int index;
+        private int fence; // -1 until first use
+        private int expectedModCount;
+
+        ArraySpliterator(int origin, int fence) {
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        private ArraySpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int fence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int hi = fence();
+            int mid = (index + hi) >>> 1;
+            if (index >= mid) {
+                return null;
+            }
+            ArraySpliterator prefix = new ArraySpliterator(index, mid, expectedModCount);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            int hi = fence();
+            if (index >= hi) {
+                return false;
+            }
+            T element = (T) array[index++];
+            action.accept(element);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            int hi = fence();
+            Object[] elements = array;
+            for (int i = index; i < hi; i++) {
+                action.accept((T) elements[i]);
+            }
+            index = hi;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    private static void releaseIfCounted(Object element) {
+        if (element instanceof ReferenceCounted) {
+            ((ReferenceCounted) element).release();
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", index, size)
+            );
+        }
+    }
+
+    public void clear() {
+        // Clear references for GC and return pooled payloads
+        for (int i = 0; i < size; i++) {
+            releaseIfCounted(array[i]);
+            array[i] = null;
+        }
+        size = 0;
+        modCount++;
+        //Memory management reuse exiting array if capacity is reasonable
+        if (array.length > DEFAULT_CAPACITY * 4) {
+            array = new Object[DEFAULT_CAPACITY];
+        }
+    }
+}
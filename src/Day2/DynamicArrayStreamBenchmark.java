@@ -0,0 +1,68 @@
+package Day2;
+
+// serial vs parallel stream analytics over a 10M packet DynamicArrayList, run main directly.
+// packets share a few payload buffers so the list fits in a normal heap (-Xmx2g).
+public class DynamicArrayStreamBenchmark {
+    private static final int PACKETS = 10_000_000;
+    private static final int PACKET_IDS = 512;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        PacketBuffer[] payloads = new PacketBuffer[64];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = PacketBuffer.unpooled(1000 + i * 8);
+        }
+
+        DynamicArrayList<VideoPacket> packets = new DynamicArrayList<>();
+        packets.ensureCapacity(PACKETS);
+        for (int seq = 0; seq < PACKETS; seq++) {
+            PacketBuffer payload = payloads[seq % payloads.length].retain();
+            packets.add(new VideoPacket(seq % PACKET_IDS, seq, payload));
+        }
+
+        System.out.println(PACKETS + " packets, best of " + ROUNDS + " rounds ("
+                + Runtime.getRuntime().availableProcessors() + " cores)");
+        long serialBytes = 0;
+        long parallelBytes = 0;
+        long serialTime = Long.MAX_VALUE;
+        long parallelTime = Long.MAX_VALUE;
+        long serialHistTime = Long.MAX_VALUE;
+        long parallelHistTime = Long.MAX_VALUE;
+        long[] serialHist = null;
+        long[] parallelHist = null;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            serialBytes = packets.stream().mapToLong(p -> p.getData().length()).sum();
+            serialTime = Math.min(serialTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            parallelBytes = packets.parallelStream().mapToLong(p -> p.getData().length()).sum();
+            parallelTime = Math.min(parallelTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            serialHist = packets.stream().collect(() -> new long[PACKET_IDS],
+                    (hist, p) -> hist[p.packetId]++, DynamicArrayStreamBenchmark::merge);
+            serialHistTime = Math.min(serialHistTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            parallelHist = packets.parallelStream().collect(() -> new long[PACKET_IDS],
+                    (hist, p) -> hist[p.packetId]++, DynamicArrayStreamBenchmark::merge);
+            parallelHistTime = Math.min(parallelHistTime, System.nanoTime() - start);
+        }
+
+        System.out.printf("%-20s %10s %10s %8s\n", "", "serial ms", "parallel ms", "speedup");
+        System.out.printf("%-20s %10.1f %10.1f %7.2fx\n", "sum of bytes",
+                serialTime / 1e6, parallelTime / 1e6, (double) serialTime / parallelTime);
+        System.out.printf("%-20s %10.1f %10.1f %7.2fx\n", "packetId histogram",
+                serialHistTime / 1e6, parallelHistTime / 1e6, (double) serialHistTime / parallelHistTime);
+        System.out.println("results match: " + (serialBytes == parallelBytes
+                && java.util.Arrays.equals(serialHist, parallelHist)));
+    }
+
+    private static void merge(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+}
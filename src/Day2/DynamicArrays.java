@@ -1,128 +1,5 @@
 package Day2;
 
-class DynamicArrayList<T> {
-    private static final int DEFAULT_CAPACITY = 10;
-    private static final float GROWTH_FACTOR = 1.5f; //growth factor correct to 1.5
-    private static final float SHRINK_FACTOR = 0.25f; // shrink factor is added.
-    private static final int MIN_CAPACITY = 10;
-
-    private Object[] array;
-    private int size;
-
-    public DynamicArrayList() {
-        this(DEFAULT_CAPACITY);
-    }
-
-    public DynamicArrayList(int initialCapacity) {
-        if (initialCapacity < 1) {
-            throw new IllegalArgumentException("Capacity must be positive");
-        }
-        this.array = new Object[initialCapacity];
-        this.size = 0;
-    }
-
-    private void resize(int newCapacity) {
-        Object[] newArray = new Object[newCapacity];
-        System.arraycopy(array, 0, newArray, 0, size);
-        array = newArray;
-    }
-
-    private void ensureCapacity() {
-        if (size == array.length) {
-            resize((int) (array.length * GROWTH_FACTOR));
-        }
-    }
-
-    private void shrinkIfNeeded() {
-        if (array.length > MIN_CAPACITY && size < array.length * SHRINK_FACTOR) {
-            resize(Math.max(MIN_CAPACITY, (int) (array.length / GROWTH_FACTOR)));
-        }
-    }
-
-    public void add(T element) {
-        ensureCapacity();
-        array[size++] = element;
-    }
-
-    @SuppressWarnings("unchecked")
-    public T remove(int index) {
-        checkIndex(index);
-
-        T removedElement = (T) array[index];
-
-        // Shift elements left
-        int numMoved = size - index - 1;
-        if (numMoved > 0) {
-            System.arraycopy(array, index + 1, array, index, numMoved);
-        }
-
-
-        array[--size] = null;
-
-
-        shrinkIfNeeded();
-
-        return removedElement;
-    }
-
-    @SuppressWarnings("unchecked")
-    public T get(int index) {
-        checkIndex(index);
-        return (T) array[index];
-    }
-
-    public int size() {
-        return size;
-    }
-
-    public int capacity() {
-        return array.length;
-    }
-
-    private void checkIndex(int index) {
-        if (index < 0 || index >= size) {
-            throw new IndexOutOfBoundsException(
-                    String.format("Index: %d, Size: %d", index, size)
-            );
-        }
-    }
-
-    public void clear() {
-        // Clear references for GC
-        for (int i = 0; i < size; i++) {
-            array[i] = null;
-        }
-        size = 0;
-        //Memory management reuse exiting array if capacity is reasonable
-        if (array.length > DEFAULT_CAPACITY * 4) {
-            array = new Object[DEFAULT_CAPACITY];
-        }
-    }
-}
-
-class VideoPacket {
-    int packetId;
-    int sequence;
-    byte[] data;
-    long timestamp;
-
-    public VideoPacket(int packetId, int sequence, int dataSize) {
-        this.packetId = packetId;
-        this.sequence = sequence;
-        this.data = new byte[dataSize];
-        this.timestamp = System.currentTimeMillis();
-    }
-    public int getSequence() {
-        return sequence;
-    }
-
-    @Override
-    public String toString() {
-        return String.format("Packet[id=%d, seq=%d, size=%d, ts=%d]",
-                packetId, sequence, data.length, timestamp);
-    }
-}
-
 public class DynamicArrays {
     public static void main(String[] args) {
         DynamicArrayList<VideoPacket> packets = new DynamicArrayList<VideoPacket>();
@@ -133,10 +10,36 @@ public class DynamicArrays {
         packets.add(new VideoPacket(261,5,1024));
 
 
-        packets.remove(0);
-        packets.remove(2);
+        // remove hands the packet over, releasing it returns the payload to the pool
+        packets.remove(0).release();
+        packets.remove(2).release();
 
         packets.clear();
 
+        // a removed packet belongs to the caller, its payload stays readable until released
+        SegmentedDynamicArrayList<VideoPacket> segmented = new SegmentedDynamicArrayList<>();
+        segmented.add(new VideoPacket(301, 1, 1024));
+        segmented.add(new VideoPacket(301, 2, 1024));
+        VideoPacket removed = segmented.remove(0);
+        boolean readable = removed.refCnt() == 1 && removed.getData().buffer().remaining() == 1024;
+        removed.release();
+        System.out.println("removed packet readable: " + (readable ? "OK" : "RELEASED"));
+        segmented.clear();
+
+        // out of order arrival across the int wrap, MIN_VALUE + 1 never arrives
+        PacketReorderBuffer reorder = new PacketReorderBuffer(64, 50_000_000L);
+        int[] arrival = {Integer.MAX_VALUE - 1, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                Integer.MIN_VALUE + 3, Integer.MIN_VALUE + 2};
+        long now = System.nanoTime();
+        for (int seq : arrival) {
+            reorder.offer(new VideoPacket(100, seq, 1024), now);
+            reorder.drain(now, packets::add);
+        }
+        reorder.drain(now + 60_000_000L, packets::add);
+        for (int i = 0; i < packets.size(); i++) {
+            System.out.println(packets.get(i));
+        }
+        System.out.println("skipped sequences: " + reorder.skipped());
+        packets.clear();
     }
 }
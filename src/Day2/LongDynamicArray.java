@@ -0,0 +1,101 @@
+package Day2;
+
+import java.util.Arrays;
+
+// DynamicArrayList for longs without boxing, same ArrayCapacity growth and shrink policy
+class LongDynamicArray {
+    private static final int DEFAULT_CAPACITY = ArrayCapacity.DEFAULT_CAPACITY;
+
+    private long[] array;
+    private int size;
+
+    public LongDynamicArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongDynamicArray(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.array = new long[initialCapacity];
+        this.size = 0;
+    }
+
+    private void resize(int newCapacity) {
+        array = Arrays.copyOf(array, newCapacity);
+    }
+
+    private void ensureCapacity() {
+        if (size == array.length) {
+            resize(ArrayCapacity.grown(array.length, size + 1));
+        }
+    }
+
+    private void shrinkIfNeeded() {
+        int capacity = ArrayCapacity.shrunk(array.length, size);
+        if (capacity != array.length) {
+            resize(capacity);
+        }
+    }
+
+    public void add(long element) {
+        ensureCapacity();
+        array[size++] = element;
+    }
+
+    public long remove(int index) {
+        checkIndex(index);
+
+        long removedElement = array[index];
+
+        // Shift elements left
+        int numMoved = size - index - 1;
+        if (numMoved > 0) {
+            System.arraycopy(array, index + 1, array, index, numMoved);
+        }
+        size--;
+
+        shrinkIfNeeded();
+
+        return removedElement;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return array[index];
+    }
+
+    public void set(int index, long element) {
+        checkIndex(index);
+        array[index] = element;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return array.length;
+    }
+
+    //copy of the live elements
+    public long[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", index, size)
+            );
+        }
+    }
+
+    public void clear() {
+        // no references to clear for primitives
+        size = 0;
+        if (array.length > DEFAULT_CAPACITY * 4) {
+            array = new long[DEFAULT_CAPACITY];
+        }
+    }
+}
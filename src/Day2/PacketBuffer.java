@@ -0,0 +1,91 @@
+package Day2;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+// payload of a VideoPacket: a slice of a pooled direct slab, or a plain heap buffer
+// when it did not come from a pool. the slot goes back to its pool when refCnt hits 0.
+// every allocation is its own PacketBuffer (a lease on the slot) and a released one
+// stays at refCnt 0 for good, so a stale reference kept after release() fails on its
+// next access instead of reading or freeing the slot's next owner.
+final class PacketBuffer implements ReferenceCounted {
+    // the pooled slot itself, only reachable through buffer() while this lease is live
+    private final ByteBuffer buffer;
+    private final PacketBufferPool pool;
+    private final int sizeClass;
+    // a field updater instead of an AtomicInteger, one object less per lease
+    private static final AtomicIntegerFieldUpdater<PacketBuffer> REF_CNT =
+            AtomicIntegerFieldUpdater.newUpdater(PacketBuffer.class, "refCnt");
+    private volatile int refCnt = 1;
+    private final int length;
+
+    // new lease with refCnt 1 on length bytes of slot
+    PacketBuffer(ByteBuffer slot, PacketBufferPool pool, int sizeClass, int length) {
+        this.buffer = slot.clear().limit(length);
+        this.pool = pool;
+        this.sizeClass = sizeClass;
+        this.length = length;
+    }
+
+    // heap buffer that is simply dropped for GC on release
+    static PacketBuffer unpooled(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+        return new PacketBuffer(ByteBuffer.allocate(length), null, -1, length);
+    }
+
+    // position 0, limit = length. use absolute get/put if it is shared between threads
+    public ByteBuffer buffer() {
+        ensureAccessible();
+        return buffer;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isPooled() {
+        return pool != null;
+    }
+
+    @Override
+    public int refCnt() {
+        return refCnt;
+    }
+
+    @Override
+    public PacketBuffer retain() {
+        while (true) {
+            int current = refCnt;
+            if (current <= 0) {
+                throw new IllegalStateException("Buffer already released");
+            }
+            if (REF_CNT.compareAndSet(this, current, current + 1)) {
+                return this;
+            }
+        }
+    }
+
+    @Override
+    public boolean release() {
+        int remaining = REF_CNT.decrementAndGet(this);
+        if (remaining < 0) {
+            REF_CNT.incrementAndGet(this);
+            throw new IllegalStateException("Buffer already released");
+        }
+        if (remaining == 0) {
+            if (pool != null) {
+                pool.recycle(buffer, sizeClass);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void ensureAccessible() {
+        if (refCnt <= 0) {
+            throw new IllegalStateException("Buffer already released");
+        }
+    }
+}
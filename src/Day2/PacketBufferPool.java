@@ -0,0 +1,137 @@
+package Day2;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+// slab allocator for packet payloads.
+// sizes are rounded up to a power of two class (256 B .. 64 KB). every class carves
+// fixed slots out of 1 MB direct slabs and keeps released slots on a free stack, so
+// in steady state a packet reuses a slot instead of allocating a new byte[]. only the
+// memory is reused, every allocation gets a fresh PacketBuffer lease on it.
+// bigger payloads fall back to unpooled heap buffers.
+class PacketBufferPool {
+    private static final int MIN_SHIFT = 8;   // 256 B
+    private static final int MAX_SHIFT = 16;  // 64 KB
+    private static final int SLAB_SIZE = 1 << 20;
+
+    private static final PacketBufferPool SHARED = new PacketBufferPool();
+
+    private final SizeClass[] classes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    PacketBufferPool() {
+        classes = new SizeClass[MAX_SHIFT - MIN_SHIFT + 1];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new SizeClass(1 << (MIN_SHIFT + i));
+        }
+    }
+
+    // pool used by VideoPacket when no pool is passed in
+    static PacketBufferPool shared() {
+        return SHARED;
+    }
+
+    // buffer with refCnt 1, release() it (or the packet holding it) when done
+    PacketBuffer allocate(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+        int sizeClass = sizeClassOf(length);
+        if (sizeClass < 0) {
+            misses.increment();
+            return PacketBuffer.unpooled(length);
+        }
+
+        SizeClass pool = classes[sizeClass];
+        ByteBuffer slot = pool.poll();
+        if (slot != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            slot = pool.carve();
+        }
+        return new PacketBuffer(slot, this, sizeClass, length);
+    }
+
+    // called by the last release() of a lease, the slot is free for the next one
+    void recycle(ByteBuffer slot, int sizeClass) {
+        classes[sizeClass].push(slot);
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    // direct memory taken by slabs so far
+    long reservedBytes() {
+        long total = 0;
+        for (SizeClass sizeClass : classes) {
+            total += sizeClass.reservedBytes();
+        }
+        return total;
+    }
+
+    private static int sizeClassOf(int length) {
+        if (length > 1 << MAX_SHIFT) {
+            return -1;
+        }
+        int shift = Math.max(MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(1, length) - 1));
+        return shift - MIN_SHIFT;
+    }
+
+    private static final class SizeClass {
+        private final int slotSize;
+        private ByteBuffer[] free = new ByteBuffer[64];
+        private int freeCount;
+        private ByteBuffer slab;
+        private int slabOffset;
+        private long reserved;
+
+        SizeClass(int slotSize) {
+            this.slotSize = slotSize;
+        }
+
+        synchronized ByteBuffer poll() {
+            if (freeCount == 0) {
+                return null;
+            }
+            ByteBuffer slot = free[--freeCount];
+            free[freeCount] = null;
+            return slot;
+        }
+
+        synchronized void push(ByteBuffer slot) {
+            if (freeCount == free.length) {
+                free = java.util.Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = slot;
+        }
+
+        // new slot from the current slab, a new slab once it is used up
+        synchronized ByteBuffer carve() {
+            if (slab == null || slabOffset + slotSize > slab.capacity()) {
+                slab = ByteBuffer.allocateDirect(Math.max(SLAB_SIZE, slotSize));
+                slabOffset = 0;
+                reserved += slab.capacity();
+            }
+            ByteBuffer slot = slab.slice(slabOffset, slotSize);
+            slabOffset += slotSize;
+            return slot;
+        }
+
+        synchronized long reservedBytes() {
+            return reserved;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package Day2;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+// heap byte[] payloads vs pooled direct slices for a packet stream, run main directly.
+// the stream keeps a window of packets in a DynamicArrayList and clear()s it when full.
+public class PacketPoolBenchmark {
+    private static final int PACKETS = 5_000_000;
+    private static final int WINDOW = 1_000;
+
+    private interface PayloadSource {
+        PacketBuffer allocate(int length);
+    }
+
+    public static void main(String[] args) {
+        PacketBufferPool pool = new PacketBufferPool();
+
+        // warmup both paths
+        stream(PacketBuffer::unpooled, PACKETS / 10);
+        stream(pool::allocate, PACKETS / 10);
+
+        Result heap = measure(PacketBuffer::unpooled);
+        long hitsBefore = pool.hits();
+        long missesBefore = pool.misses();
+        Result pooled = measure(pool::allocate);
+        long hits = pool.hits() - hitsBefore;
+        long misses = pool.misses() - missesBefore;
+
+        System.out.println(PACKETS + " packets of 1000-1500 bytes, window " + WINDOW);
+        System.out.printf("%-8s %10s %14s %8s %10s\n", "", "time ms", "allocated MB", "GCs", "GC ms");
+        heap.print("heap");
+        pooled.print("pooled");
+        System.out.printf("pool hit rate %.4f (%d hits, %d misses), direct memory reserved %d KB\n",
+                (double) hits / Math.max(1, hits + misses), hits, misses, pool.reservedBytes() / 1024);
+    }
+
+    private static Result measure(PayloadSource source) {
+        long[] gcBefore = gcStats();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        stream(source, PACKETS);
+
+        Result result = new Result();
+        result.nanos = System.nanoTime() - start;
+        result.allocated = allocatedBytes() - allocatedBefore;
+        long[] gcAfter = gcStats();
+        result.gcCount = gcAfter[0] - gcBefore[0];
+        result.gcMillis = gcAfter[1] - gcBefore[1];
+        return result;
+    }
+
+    private static void stream(PayloadSource source, int packets) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        DynamicArrayList<VideoPacket> window = new DynamicArrayList<>(WINDOW);
+        for (int seq = 0; seq < packets; seq++) {
+            window.add(new VideoPacket(seq % 512, seq, source.allocate(1000 + random.nextInt(500))));
+            if (window.size() == WINDOW) {
+                window.clear();
+            }
+        }
+        window.clear();
+    }
+
+    private static long[] gcStats() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    // -1 when the JVM does not expose per thread allocation
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static final class Result {
+        long nanos;
+        long allocated;
+        long gcCount;
+        long gcMillis;
+
+        void print(String name) {
+            System.out.printf("%-8s %10.1f %14.1f %8d %10d\n",
+                    name, nanos / 1e6, allocated / (1024.0 * 1024), gcCount, gcMillis);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package Day2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// appends VideoPackets to segment files on disk instead of keeping them on the heap.
+// each record is a fixed header plus the payload, written with one gather write so
+// the payload goes from its (direct) pool slice to the file without an extra copy.
+// segments roll over at segmentSize so PacketReplayer can mmap each one whole.
+//
+// segment = MAGIC, then records of [packetId int][sequence int][timestamp long][length int][payload]
+class PacketRecorder implements Closeable {
+    static final int MAGIC = 0x56504B54; // "VPKT"
+    static final int FILE_HEADER_SIZE = 4;
+    static final int RECORD_HEADER_SIZE = 20;
+    static final int DEFAULT_SEGMENT_SIZE = 256 << 20;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ByteBuffer header = ByteBuffer.allocateDirect(RECORD_HEADER_SIZE);
+    // reused for every gather write
+    private final ByteBuffer[] record = new ByteBuffer[2];
+
+    private FileChannel channel;
+    private int segmentIndex = -1;
+    private long segmentPosition;
+    private long recorded;
+
+    PacketRecorder(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    PacketRecorder(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= FILE_HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size too small");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        record[0] = header;
+    }
+
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("capture-%05d.seg", index));
+    }
+
+    public void record(VideoPacket packet) throws IOException {
+        if (packet == null) {
+            throw new IllegalArgumentException("Packet cannot be null");
+        }
+        ByteBuffer payload = packet.getData().buffer();
+        int length = packet.getData().length();
+        long recordSize = RECORD_HEADER_SIZE + (long) length;
+        if (FILE_HEADER_SIZE + recordSize > segmentSize) {
+            throw new IllegalArgumentException("Packet larger than a segment: " + length);
+        }
+        if (channel == null || segmentPosition + recordSize > segmentSize) {
+            nextSegment();
+        }
+
+        header.clear();
+        header.putInt(packet.packetId)
+                .putInt(packet.sequence)
+                .putLong(packet.timestamp)
+                .putInt(length)
+                .flip();
+
+        record[1] = payload;
+        payload.position(0).limit(length);
+        try {
+            long remaining = recordSize;
+            while (remaining > 0) {
+                remaining -= channel.write(record);
+            }
+        } finally {
+            payload.position(0);
+            record[1] = null;
+        }
+
+        segmentPosition += recordSize;
+        recorded++;
+    }
+
+    public void recordAll(DynamicArrayList<VideoPacket> packets) throws IOException {
+        for (int i = 0; i < packets.size(); i++) {
+            record(packets.get(i));
+        }
+    }
+
+    // pushes written data to the device
+    public void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    public long recorded() {
+        return recorded;
+    }
+
+    private void nextSegment() throws IOException {
+        closeSegment();
+        segmentIndex++;
+        channel = FileChannel.open(segmentPath(directory, segmentIndex),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        ByteBuffer magic = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).flip();
+        while (magic.hasRemaining()) {
+            channel.write(magic);
+        }
+        segmentPosition = FILE_HEADER_SIZE;
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+}
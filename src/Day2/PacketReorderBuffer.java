@@ -0,0 +1,177 @@
+package Day2;
+
+import java.util.function.Consumer;
+
+// jitter buffer in front of playback: takes packets in arrival order and hands them
+// out in sequence order. slots are a ring indexed by (sequence & mask) so offer/poll
+// are O(1) and allocate nothing. when the next sequence is missing for longer than
+// maxLatency the gap is skipped. sequence math uses int differences so it keeps
+// working when the sequence number wraps around.
+class PacketReorderBuffer {
+    private final VideoPacket[] slots;
+    private final int mask;
+    private final long maxLatencyNanos;
+
+    private boolean started;
+    private int nextSequence;
+    private int buffered;
+    // set while the packet at nextSequence is holding up the ones behind it, gapSince is
+    // when that started. nanoTime can be negative so no value of gapSince can mean "none"
+    private boolean waitingOnGap;
+    private long gapSince;
+
+    private long released;
+    private long skipped;
+    private long lateDrops;
+    private long duplicateDrops;
+    private long overflowDrops;
+
+    // capacity = how many sequence numbers ahead of the next one can be buffered
+    PacketReorderBuffer(int capacity, long maxLatencyNanos) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        if (maxLatencyNanos < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative");
+        }
+        this.slots = new VideoPacket[capacity];
+        this.mask = capacity - 1;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    // returns false (and releases the packet) when it is late, a duplicate or too far ahead
+    public boolean offer(VideoPacket packet, long nowNanos) {
+        if (packet == null) {
+            throw new IllegalArgumentException("Packet cannot be null");
+        }
+        int sequence = packet.getSequence();
+        if (!started) {
+            started = true;
+            nextSequence = sequence;
+        }
+
+        int distance = sequence - nextSequence;
+        if (distance >= slots.length && buffered == 0) {
+            // nothing waiting, the stream jumped ahead so follow it
+            nextSequence = sequence;
+            distance = 0;
+        }
+        if (distance < 0) {
+            lateDrops++;
+            packet.release();
+            return false;
+        }
+        if (distance >= slots.length) {
+            overflowDrops++;
+            packet.release();
+            return false;
+        }
+
+        int slot = sequence & mask;
+        if (slots[slot] != null) {
+            duplicateDrops++;
+            packet.release();
+            return false;
+        }
+        slots[slot] = packet;
+        buffered++;
+
+        if (distance > 0 && !waitingOnGap) {
+            waitingOnGap = true;
+            gapSince = nowNanos;
+        }
+        return true;
+    }
+
+    // next packet in order, or null while waiting for a missing one
+    public VideoPacket poll(long nowNanos) {
+        if (buffered == 0) {
+            waitingOnGap = false;
+            return null;
+        }
+
+        if (slots[nextSequence & mask] == null) {
+            if (!waitingOnGap) {
+                waitingOnGap = true;
+                gapSince = nowNanos;
+                return null;
+            }
+            if (nowNanos - gapSince < maxLatencyNanos) {
+                return null;
+            }
+            // deadline passed, give up on the missing packets up to the next buffered one
+            while (slots[nextSequence & mask] == null) {
+                nextSequence++;
+                skipped++;
+            }
+        }
+
+        int slot = nextSequence & mask;
+        VideoPacket packet = slots[slot];
+        slots[slot] = null;
+        buffered--;
+        nextSequence++;
+        released++;
+
+        // the packets behind a new gap have been waiting since now at the latest
+        waitingOnGap = buffered > 0 && slots[nextSequence & mask] == null;
+        gapSince = nowNanos;
+        return packet;
+    }
+
+    // hands every packet that is ready to the consumer, returns how many
+    public int drain(long nowNanos, Consumer<? super VideoPacket> consumer) {
+        int count = 0;
+        VideoPacket packet;
+        while ((packet = poll(nowNanos)) != null) {
+            consumer.accept(packet);
+            count++;
+        }
+        return count;
+    }
+
+    // releases everything still buffered and starts over
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null) {
+                slots[i].release();
+                slots[i] = null;
+            }
+        }
+        buffered = 0;
+        started = false;
+        waitingOnGap = false;
+    }
+
+    public int size() {
+        return buffered;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public int nextSequence() {
+        return nextSequence;
+    }
+
+    public long released() {
+        return released;
+    }
+
+    public long skipped() {
+        return skipped;
+    }
+
+    public long lateDrops() {
+        return lateDrops;
+    }
+
+    public long duplicateDrops() {
+        return duplicateDrops;
+    }
+
+    public long overflowDrops() {
+        return overflowDrops;
+    }
+}
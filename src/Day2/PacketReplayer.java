@@ -0,0 +1,97 @@
+package Day2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// replays a capture written by PacketRecorder. each segment is memory mapped and
+// walked in place, the visitor gets a view whose payload points straight into the
+// mapping, so a multi GB capture never has to fit on the heap.
+class PacketReplayer {
+    private final Path directory;
+
+    PacketReplayer(Path directory) {
+        this.directory = directory;
+    }
+
+    // view of one record, reused for every packet: only valid inside the visitor call
+    static final class RecordedPacket {
+        private int packetId;
+        private int sequence;
+        private long timestamp;
+        private ByteBuffer payload;
+
+        public int getPacketId() { return packetId; }
+        public int getSequence() { return sequence; }
+        public long getTimestamp() { return timestamp; }
+
+        // read only view of the mapping, the payload is [position, limit)
+        public ByteBuffer payload() { return payload; }
+
+        // copies the payload into a pooled buffer when the packet has to outlive the visit
+        public VideoPacket toVideoPacket(PacketBufferPool pool) {
+            PacketBuffer data = pool.allocate(payload.remaining());
+            data.buffer().put(0, payload, payload.position(), payload.remaining());
+            VideoPacket packet = new VideoPacket(packetId, sequence, data);
+            packet.timestamp = timestamp;
+            return packet;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Packet[id=%d, seq=%d, size=%d, ts=%d]",
+                    packetId, sequence, payload.remaining(), timestamp);
+        }
+    }
+
+    // visits every packet in recording order, returns how many.
+    // stops at a torn record at the end of a segment (crash while recording)
+    public long replay(Consumer<? super RecordedPacket> visitor) throws IOException {
+        RecordedPacket view = new RecordedPacket();
+        long count = 0;
+
+        for (int index = 0; ; index++) {
+            Path segment = PacketRecorder.segmentPath(directory, index);
+            if (!Files.exists(segment)) {
+                break;
+            }
+
+            MappedByteBuffer mapped;
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                // the mapping stays valid after the channel is closed
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (mapped.remaining() < PacketRecorder.FILE_HEADER_SIZE
+                    || mapped.getInt(0) != PacketRecorder.MAGIC) {
+                throw new IOException("Not a packet capture segment: " + segment);
+            }
+
+            ByteBuffer payload = mapped.asReadOnlyBuffer();
+            int position = PacketRecorder.FILE_HEADER_SIZE;
+            int end = mapped.limit();
+            while (end - position >= PacketRecorder.RECORD_HEADER_SIZE) {
+                int length = mapped.getInt(position + 16);
+                int payloadStart = position + PacketRecorder.RECORD_HEADER_SIZE;
+                if (length < 0 || length > end - payloadStart) {
+                    break;
+                }
+
+                view.packetId = mapped.getInt(position);
+                view.sequence = mapped.getInt(position + 4);
+                view.timestamp = mapped.getLong(position + 8);
+                payload.limit(payloadStart + length).position(payloadStart);
+                view.payload = payload;
+
+                visitor.accept(view);
+                count++;
+                position = payloadStart + length;
+            }
+        }
+        return count;
+    }
+}
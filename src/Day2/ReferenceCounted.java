@@ -0,0 +1,12 @@
+package Day2;
+
+// objects that hold a pooled resource and give it back when the last owner releases them
+interface ReferenceCounted {
+    int refCnt();
+
+    // adds an owner, returns this for chaining
+    ReferenceCounted retain();
+
+    // drops an owner, returns true when this was the last one and the resource was freed
+    boolean release();
+}
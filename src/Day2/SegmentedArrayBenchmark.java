@@ -0,0 +1,61 @@
+package Day2;
+
+import java.util.Arrays;
+
+// add latency of DynamicArrayList (copy on growth) vs SegmentedDynamicArrayList, run main directly.
+// every add is timed on its own, the resize copies show up in the tail percentiles.
+public class SegmentedArrayBenchmark {
+    private static final int ELEMENTS = 10_000_000;
+    private static final int ROUNDS = 3;
+
+    private static long checksum;
+
+    private interface Appender {
+        void add(Object element);
+    }
+
+    public static void main(String[] args) {
+        int[] latencies = new int[ELEMENTS];
+        Object element = new Object();
+
+        System.out.println(ELEMENTS + " adds, ns per add");
+        System.out.printf("%-28s %8s %8s %8s %12s %10s\n", "", "p50", "p99", "p99.99", "max", "total ms");
+
+        for (int round = 0; round < ROUNDS; round++) {
+            boolean print = round == ROUNDS - 1; // earlier rounds are warmup
+
+            DynamicArrayList<Object> flat = new DynamicArrayList<>();
+            measure(print, "DynamicArrayList", latencies, flat::add, element);
+            checksum += flat.size();
+            flat = null;
+
+            SegmentedDynamicArrayList<Object> segmented = new SegmentedDynamicArrayList<>();
+            measure(print, "SegmentedDynamicArrayList", latencies, segmented::add, element);
+            checksum += segmented.size();
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+    private static void measure(boolean print, String name, int[] latencies, Appender list, Object element) {
+        System.gc();
+        long begin = System.nanoTime();
+        for (int i = 0; i < ELEMENTS; i++) {
+            long start = System.nanoTime();
+            list.add(element);
+            latencies[i] = (int) Math.min(Integer.MAX_VALUE, System.nanoTime() - start);
+        }
+        long total = System.nanoTime() - begin;
+
+        if (print) {
+            int[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            System.out.printf("%-28s %8d %8d %8d %12d %10.1f\n", name,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.9999),
+                    sorted[sorted.length - 1], total / 1e6);
+        }
+    }
+
+    private static int percentile(int[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+}
@@ -0,0 +1,136 @@
+package Day2;
+
+import java.util.Arrays;
+
+// DynamicArrayList that never copies its elements on growth.
+// elements live in fixed size chunks, a small directory points at the chunks.
+// get/set are O(1) (shift + mask), add only allocates a new chunk when the last
+// one is full, and the directory only copies chunk pointers when it grows.
+class SegmentedDynamicArrayList<T> {
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_DIRECTORY = 8;
+
+    private Object[][] chunks;
+    private int chunkCount;
+    private int size;
+
+    public SegmentedDynamicArrayList() {
+        this.chunks = new Object[INITIAL_DIRECTORY][];
+        this.chunkCount = 0;
+        this.size = 0;
+    }
+
+    public void add(T element) {
+        if (size == chunkCount << CHUNK_SHIFT) {
+            addChunk();
+        }
+        chunks[size >>> CHUNK_SHIFT][size & CHUNK_MASK] = element;
+        size++;
+    }
+
+    private void addChunk() {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        if (chunks[chunkCount] == null) {
+            chunks[chunkCount] = new Object[CHUNK_SIZE];
+        }
+        chunkCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        checkIndex(index);
+        Object[] chunk = chunks[index >>> CHUNK_SHIFT];
+        T old = (T) chunk[index & CHUNK_MASK];
+        chunk[index & CHUNK_MASK] = element;
+        return old;
+    }
+
+    // O(n - index): shifts the tail left one chunk at a time.
+    // like DynamicArrayList the list's ownership of the element passes to the caller:
+    // a reference counted element is not released here, the caller release()s it
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkIndex(index);
+
+        T removedElement = (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+
+        int chunk = index >>> CHUNK_SHIFT;
+        int offset = index & CHUNK_MASK;
+        int lastChunk = (size - 1) >>> CHUNK_SHIFT;
+        while (chunk <= lastChunk) {
+            Object[] current = chunks[chunk];
+            int end = chunk == lastChunk ? ((size - 1) & CHUNK_MASK) + 1 : CHUNK_SIZE;
+            System.arraycopy(current, offset + 1, current, offset, end - offset - 1);
+            if (chunk < lastChunk) {
+                // first element of the next chunk moves into our last slot
+                current[CHUNK_MASK] = chunks[chunk + 1][0];
+            }
+            chunk++;
+            offset = 0;
+        }
+
+        size--;
+        chunks[size >>> CHUNK_SHIFT][size & CHUNK_MASK] = null;
+        releaseEmptyChunks();
+        return removedElement;
+    }
+
+    // drops chunks past the last used one, keeps one spare so add/remove at a
+    // chunk boundary does not allocate every time
+    private void releaseEmptyChunks() {
+        int used = (size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+        while (chunkCount > used + 1) {
+            chunks[--chunkCount] = null;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return chunkCount << CHUNK_SHIFT;
+    }
+
+    private static void releaseIfCounted(Object element) {
+        if (element instanceof ReferenceCounted) {
+            ((ReferenceCounted) element).release();
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", index, size)
+            );
+        }
+    }
+
+    public void clear() {
+        // Clear references for GC and return pooled payloads
+        for (int i = 0; i < size; i++) {
+            Object[] chunk = chunks[i >>> CHUNK_SHIFT];
+            releaseIfCounted(chunk[i & CHUNK_MASK]);
+            chunk[i & CHUNK_MASK] = null;
+        }
+        size = 0;
+        // keep the first chunk, let the rest go
+        for (int i = 1; i < chunkCount; i++) {
+            chunks[i] = null;
+        }
+        chunkCount = Math.min(chunkCount, 1);
+        if (chunks.length > INITIAL_DIRECTORY * 4) {
+            chunks = Arrays.copyOf(chunks, INITIAL_DIRECTORY);
+        }
+    }
+}
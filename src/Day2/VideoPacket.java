@@ -0,0 +1,52 @@
+package Day2;
+
+// the packet owns its payload buffer, releasing the packet releases the buffer
+class VideoPacket implements ReferenceCounted {
+    int packetId;
+    int sequence;
+    PacketBuffer data;
+    long timestamp;
+
+    public VideoPacket(int packetId, int sequence, int dataSize) {
+        this(packetId, sequence, PacketBufferPool.shared().allocate(dataSize));
+    }
+
+    public VideoPacket(int packetId, int sequence, PacketBuffer data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Payload cannot be null");
+        }
+        this.packetId = packetId;
+        this.sequence = sequence;
+        this.data = data;
+        this.timestamp = System.currentTimeMillis();
+    }
+    public int getSequence() {
+        return sequence;
+    }
+
+    public PacketBuffer getData() {
+        return data;
+    }
+
+    @Override
+    public int refCnt() {
+        return data.refCnt();
+    }
+
+    @Override
+    public VideoPacket retain() {
+        data.retain();
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return data.release();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Packet[id=%d, seq=%d, size=%d, ts=%d]",
+                packetId, sequence, data.length(), timestamp);
+    }
+}
@@ -0,0 +1,181 @@
+package Day3;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// doubly linked list without Node objects (struct of arrays).
+// slot i holds values[i], next[i] and prev[i] is the slot before/after it, so the
+// links sit next to each other in memory instead of in objects scattered on the heap.
+// removed slots go on a free list (chained through next[]) and are reused first.
+class ArrayLinkedList<T> implements Iterable<T> {
+    private static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float GROWTH_FACTOR = 1.5f;
+
+    private Object[] values;
+    private int[] next;
+    private int[] prev;
+    private int head;
+    private int tail;
+    private int freeHead;
+    // slots ever handed out, slots above this were never used
+    private int used;
+    private int size;
+
+    public ArrayLinkedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ArrayLinkedList(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        values = new Object[initialCapacity];
+        next = new int[initialCapacity];
+        prev = new int[initialCapacity];
+        head = NIL;
+        tail = NIL;
+        freeHead = NIL;
+        used = 0;
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Time Complexity: O(1) amortized
+    public void addFirst(T data) {
+        int slot = allocate(data);
+        prev[slot] = NIL;
+        next[slot] = head;
+        if (head == NIL) {
+            tail = slot;
+        } else {
+            prev[head] = slot;
+        }
+        head = slot;
+        size++;
+    }
+
+    // Time Complexity: O(1) amortized
+    public void addLast(T data) {
+        int slot = allocate(data);
+        next[slot] = NIL;
+        prev[slot] = tail;
+        if (tail == NIL) {
+            head = slot;
+        } else {
+            next[tail] = slot;
+        }
+        tail = slot;
+        size++;
+    }
+
+    // Time Complexity: O(1)
+    @SuppressWarnings("unchecked")
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        int slot = head;
+        T data = (T) values[slot];
+
+        head = next[slot];
+        if (head != NIL) {
+            prev[head] = NIL;
+        } else {
+            tail = NIL;
+        }
+        free(slot);
+        size--;
+        return data;
+    }
+
+    // Time Complexity: O(1)
+    @SuppressWarnings("unchecked")
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        int slot = tail;
+        T data = (T) values[slot];
+
+        tail = prev[slot];
+        if (tail != NIL) {
+            next[tail] = NIL;
+        } else {
+            head = NIL;
+        }
+        free(slot);
+        size--;
+        return data;
+    }
+
+    // reuses a freed slot if there is one, otherwise takes the next unused slot
+    private int allocate(T data) {
+        int slot;
+        if (freeHead != NIL) {
+            slot = freeHead;
+            freeHead = next[slot];
+        } else {
+            if (used == values.length) {
+                grow();
+            }
+            slot = used++;
+        }
+        values[slot] = data;
+        return slot;
+    }
+
+    private void free(int slot) {
+        values[slot] = null; // help GC
+        prev[slot] = NIL;
+        next[slot] = freeHead;
+        freeHead = slot;
+    }
+
+    private void grow() {
+        int newCapacity = Math.max(values.length + 1, (int) (values.length * GROWTH_FACTOR));
+        values = Arrays.copyOf(values, newCapacity);
+        next = Arrays.copyOf(next, newCapacity);
+        prev = Arrays.copyOf(prev, newCapacity);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != NIL;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T data = (T) values[current];
+                current = next[current];
+                return data;
+            }
+        };
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0, used, null);
+        head = NIL;
+        tail = NIL;
+        freeHead = NIL;
+        used = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,221 @@
+package Day3;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// playlist with O(log n) positional operations.
+// a skip list where every link also stores its width = how many songs it jumps over,
+// so walking down the levels and adding up widths finds position k in O(log n)
+// instead of walking k nodes like LinkedList would.
+class IndexableSkipList<T> implements Iterable<T> {
+    private static final int MAX_LEVEL = 32;
+
+    private static class Node<T> {
+        T data;
+        final Node<T>[] next;
+        final int[] width;
+
+        @SuppressWarnings("unchecked")
+        Node(T data, int level) {
+            this.data = data;
+            this.next = (Node<T>[]) new Node<?>[level];
+            this.width = new int[level];
+        }
+    }
+
+    // head sits at position -1, tail sentinel at position size.
+    // widths always measure up to the sentinel so no null checks are needed.
+    private final Node<T> head;
+    private final Node<T> tail;
+    private int size;
+    // levels in use, links above this only go head -> tail
+    private int levels;
+
+    // reused by insert/remove to collect the node before the position on every level
+    @SuppressWarnings("unchecked")
+    private final Node<T>[] update = (Node<T>[]) new Node<?>[MAX_LEVEL];
+    private final int[] updatePosition = new int[MAX_LEVEL];
+
+    public IndexableSkipList() {
+        head = new Node<>(null, MAX_LEVEL);
+        tail = new Node<>(null, MAX_LEVEL);
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next[level] = tail;
+            head.width[level] = 1;
+        }
+        size = 0;
+        levels = 1;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Time Complexity: O(log n)
+    public T get(int index) {
+        checkIndex(index);
+        return nodeAt(index).data;
+    }
+
+    // Time Complexity: O(log n)
+    public T set(int index, T data) {
+        checkIndex(index);
+        Node<T> node = nodeAt(index);
+        T old = node.data;
+        node.data = data;
+        return old;
+    }
+
+    // inserts so that the song ends up at position index (0..size). O(log n)
+    public void insertAt(int index, T data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", index, size)
+            );
+        }
+        findPredecessors(index);
+
+        int level = randomLevel();
+        if (level > levels) {
+            // new top levels: head links straight to the tail over every song
+            for (int l = levels; l < level; l++) {
+                update[l] = head;
+                updatePosition[l] = -1;
+                head.width[l] = size + 1;
+            }
+            levels = level;
+        }
+
+        Node<T> node = new Node<>(data, level);
+        for (int l = 0; l < levels; l++) {
+            Node<T> before = update[l];
+            int distance = index - updatePosition[l];
+            if (l < level) {
+                node.next[l] = before.next[l];
+                node.width[l] = before.width[l] - distance + 1;
+                before.next[l] = node;
+                before.width[l] = distance;
+            } else {
+                // link jumps over the new node
+                before.width[l]++;
+            }
+        }
+        size++;
+    }
+
+    public void addFirst(T data) {
+        insertAt(0, data);
+    }
+
+    public void addLast(T data) {
+        insertAt(size, data);
+    }
+
+    // Time Complexity: O(log n)
+    public T removeAt(int index) {
+        checkIndex(index);
+        findPredecessors(index);
+
+        Node<T> target = update[0].next[0];
+        for (int l = 0; l < levels; l++) {
+            Node<T> before = update[l];
+            if (before.next[l] == target) {
+                before.width[l] += target.width[l] - 1;
+                before.next[l] = target.next[l];
+            } else {
+                before.width[l]--;
+            }
+        }
+        size--;
+
+        T data = target.data;
+        target.data = null;
+        return data;
+    }
+
+    // moves the song at from so it ends up at position to. O(log n)
+    public void move(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+        if (from == to) {
+            return;
+        }
+        insertAt(to, removeAt(from));
+    }
+
+    // fills update[] with the last node before position index on every level
+    private void findPredecessors(int index) {
+        Node<T> node = head;
+        int position = -1;
+        for (int l = levels - 1; l >= 0; l--) {
+            while (position + node.width[l] < index) {
+                position += node.width[l];
+                node = node.next[l];
+            }
+            update[l] = node;
+            updatePosition[l] = position;
+        }
+    }
+
+    private Node<T> nodeAt(int index) {
+        Node<T> node = head;
+        int position = -1;
+        for (int l = levels - 1; l >= 0; l--) {
+            while (position + node.width[l] <= index) {
+                position += node.width[l];
+                node = node.next[l];
+            }
+        }
+        return node;
+    }
+
+    // level k with probability 1/2^k
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1));
+        return Integer.numberOfTrailingZeros(bits) + 1;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", index, size)
+            );
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> current = head.next[0];
+
+            @Override
+            public boolean hasNext() {
+                return current != tail;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T data = current.data;
+                current = current.next[0];
+                return data;
+            }
+        };
+    }
+
+    public void clear() {
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next[level] = tail;
+            head.width[level] = 1;
+        }
+        size = 0;
+        levels = 1;
+    }
+}
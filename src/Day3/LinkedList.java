@@ -0,0 +1,458 @@
+package Day3;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+class LinkedList<T> implements Iterable<T> {
+
+
+    private static class Node<T> {
+        T data;
+        Node<T> next;
+        Node<T> prev;
+
+        Node(T data) {
+            this.data = data;
+            this.next = null;
+            this.prev = null;
+        }
+    }
+
+    private Node<T> head;
+    private Node<T> tail;
+    private int size;
+    // bumped by every change to the order or the contents, lets a caller holding
+    // positions (like a shuffle) notice they went stale
+    private int modCount;
+
+    // optional key -> node index (e.g. song id) for O(1) remove/move/contains by key
+    private Function<? super T, ?> keyExtractor;
+    private HashMap<Object, Node<T>> index;
+
+    public LinkedList() {
+        this(null);
+    }
+
+    // keys must be unique, adding a second element with the same key is rejected
+    public LinkedList(Function<? super T, ?> keyExtractor) {
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+        this.keyExtractor = keyExtractor;
+        this.index = keyExtractor != null ? new HashMap<>() : null;
+    }
+
+    public boolean isEmpty() {
+        return head == null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int modCount() {
+        return modCount;
+    }
+
+    //used to implement DRY
+    private void initializeFirstNode(Node<T> newNode) {
+        head = newNode;
+        tail = newNode;
+    }
+
+
+     // Time Complexity: O(1)
+    public void addFirst(T data) {
+        Node<T> newNode = new Node<>(data);
+        indexNode(newNode);
+
+        if (isEmpty()) {
+            initializeFirstNode(newNode);
+        } else {
+            newNode.next = head;
+            head.prev = newNode;
+            head = newNode;
+        }
+
+        size++;
+        modCount++;
+    }
+
+
+
+    // Time Complexity: O(1)
+
+    public void addLast(T data) {
+        Node<T> newNode = new Node<>(data);
+        indexNode(newNode);
+
+        if (isEmpty()) {
+            initializeFirstNode(newNode);
+        } else {
+            newNode.prev = tail;
+            tail.next = newNode;
+            tail = newNode;
+        }
+
+        size++;
+        modCount++;
+    }
+
+    // Time Complexity: O(1)
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+
+        T data = head.data;
+        Node<T> oldHead = head;
+        unindexNode(oldHead);
+
+        head = head.next;
+
+        if (head != null) {
+            head.prev = null;
+        } else {
+            tail = null;
+        }
+
+        // Cleared all references to help GC
+        oldHead.next = null;
+        oldHead.prev = null;
+        oldHead.data = null;
+
+        size--;
+        modCount++;
+        return data;
+    }
+
+    // Time Complexity: O(1)
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+
+        T data = tail.data;
+        Node<T> oldTail = tail;
+        unindexNode(oldTail);
+
+        tail = tail.prev;
+
+        if (tail != null) {
+            tail.next = null;
+        } else {
+            head = null;
+        }
+
+
+        oldTail.next = null;
+        oldTail.prev = null;
+        oldTail.data = null;
+
+        size--;
+        modCount++;
+        return data;
+    }
+
+
+    // Time Complexity: O(1), needs a keyed list
+    public boolean contains(Object key) {
+        return requireIndex().containsKey(key);
+    }
+
+    // the element with this key, null if there is none. O(1)
+    public T getByKey(Object key) {
+        Node<T> node = requireIndex().get(key);
+        return node == null ? null : node.data;
+    }
+
+    // removes the element with this key, null if there is none. O(1)
+    public T remove(Object key) {
+        Node<T> node = requireIndex().remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+
+        T data = node.data;
+        node.data = null;
+        size--;
+        modCount++;
+        return data;
+    }
+
+    // moves the element with this key to the front, false if there is none. O(1)
+    public boolean moveToFront(Object key) {
+        Node<T> node = requireIndex().get(key);
+        if (node == null) {
+            return false;
+        }
+        if (node == head) {
+            return true;
+        }
+        unlink(node);
+
+        node.next = head;
+        head.prev = node;
+        head = node;
+        modCount++;
+        return true;
+    }
+
+    // takes a node out of the chain, keeps its data and the index untouched
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail = node.prev;
+        }
+        node.next = null;
+        node.prev = null;
+    }
+
+    private void indexNode(Node<T> node) {
+        if (index == null) {
+            return;
+        }
+        Object key = keyExtractor.apply(node.data);
+        if (index.putIfAbsent(key, node) != null) {
+            throw new IllegalArgumentException("Duplicate key: " + key);
+        }
+    }
+
+    private void unindexNode(Node<T> node) {
+        if (index != null) {
+            index.remove(keyExtractor.apply(node.data));
+        }
+    }
+
+    private HashMap<Object, Node<T>> requireIndex() {
+        if (index == null) {
+            throw new IllegalStateException("List was created without a key extractor");
+        }
+        return index;
+    }
+
+    // Time Complexity: O(n), walks from whichever end is closer
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", index, size)
+            );
+        }
+        return nodeAt(index).data;
+    }
+
+    private Node<T> nodeAt(int index) {
+        Node<T> current;
+        if (index < size / 2) {
+            current = head;
+            for (int i = 0; i < index; i++) {
+                current = current.next;
+            }
+        } else {
+            current = tail;
+            for (int i = size - 1; i > index; i--) {
+                current = current.prev;
+            }
+        }
+        return current;
+    }
+
+
+    // Splice operations relink whole chains of nodes instead of copying elements.
+    // The nodes move to the receiving list and the source list ends up empty.
+    // Keyed lists also have to move their index entries, which costs O(moved).
+
+    // moves every element of other to the end of this list. O(1)
+    public void appendAll(LinkedList<T> other) {
+        insertAll(size, other);
+    }
+
+    // moves every element of other in front of position (0..size). O(position)
+    public void insertAll(int position, LinkedList<T> other) {
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", position, size)
+            );
+        }
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot splice a list into itself");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        adoptIndex(other);
+
+        Node<T> after = position == size ? null : nodeAt(position);
+        Node<T> before = after == null ? tail : after.prev;
+
+        other.head.prev = before;
+        if (before != null) {
+            before.next = other.head;
+        } else {
+            head = other.head;
+        }
+        other.tail.next = after;
+        if (after != null) {
+            after.prev = other.tail;
+        } else {
+            tail = other.tail;
+        }
+        size += other.size;
+        modCount++;
+
+        other.head = null;
+        other.tail = null;
+        other.size = 0;
+        other.modCount++;
+    }
+
+    // cuts the list at position (0..size): this keeps the elements before it and
+    // the rest is returned as a new list with the same key extractor. O(position)
+    public LinkedList<T> splitAt(int position) {
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", position, size)
+            );
+        }
+        LinkedList<T> rest = new LinkedList<>(keyExtractor);
+        if (position == size) {
+            return rest;
+        }
+
+        Node<T> first = nodeAt(position);
+        rest.head = first;
+        rest.tail = tail;
+        rest.size = size - position;
+
+        tail = first.prev;
+        if (tail != null) {
+            tail.next = null;
+        } else {
+            head = null;
+        }
+        first.prev = null;
+        size = position;
+        modCount++;
+
+        if (index != null) {
+            for (Node<T> node = first; node != null; node = node.next) {
+                Object key = keyExtractor.apply(node.data);
+                index.remove(key);
+                rest.index.put(key, node);
+            }
+        }
+        return rest;
+    }
+
+    // exchanges the whole contents with other in O(1): nodes, size and the key index
+    // change owner, nothing is copied or indexed again
+    public void swap(LinkedList<T> other) {
+        Node<T> otherHead = other.head;
+        Node<T> otherTail = other.tail;
+        int otherSize = other.size;
+        Function<? super T, ?> otherKeyExtractor = other.keyExtractor;
+        HashMap<Object, Node<T>> otherIndex = other.index;
+
+        other.head = head;
+        other.tail = tail;
+        other.size = size;
+        other.keyExtractor = keyExtractor;
+        other.index = index;
+        other.modCount++;
+
+        head = otherHead;
+        tail = otherTail;
+        size = otherSize;
+        keyExtractor = otherKeyExtractor;
+        index = otherIndex;
+        modCount++;
+    }
+
+    // takes over the index entries of other before its nodes are linked in.
+    // checks every key first so a duplicate leaves both lists untouched.
+    private void adoptIndex(LinkedList<T> other) {
+        if (index == null) {
+            if (other.index != null) {
+                other.index.clear();
+            }
+            return;
+        }
+        // an unkeyed source can hold the same key twice, so track what it has too
+        HashSet<Object> seen = other.index == null ? new HashSet<>() : null;
+        for (Node<T> node = other.head; node != null; node = node.next) {
+            Object key = keyExtractor.apply(node.data);
+            if (index.containsKey(key) || (seen != null && !seen.add(key))) {
+                throw new IllegalArgumentException("Duplicate key: " + key);
+            }
+        }
+        for (Node<T> node = other.head; node != null; node = node.next) {
+            index.put(keyExtractor.apply(node.data), node);
+        }
+        if (other.index != null) {
+            other.index.clear();
+        }
+    }
+
+
+     // Display all elements
+    public void display() {
+        if (isEmpty()) {
+            System.out.println("Playlist is empty");
+            return;
+        }
+
+        System.out.println("\n" + "═".repeat(70));
+        System.out.println("🎵 CURRENT PLAYLIST (" + size + " songs)");
+        System.out.println("═".repeat(70));
+
+        int position = 1;
+        for (T item : this) {
+            System.out.printf("%2d. %s\n", position++, item);
+        }
+
+        System.out.println("═".repeat(70) + "\n");
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T data = current.data;
+                current = current.next;
+                return data;
+            }
+        };
+    }
+
+
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+        if (index != null) {
+            index.clear();
+        }
+    }
+}
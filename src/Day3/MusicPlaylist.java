@@ -1,214 +1,11 @@
 package Day3;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
-import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-class LinkedList<T> implements Iterable<T> {
-
-
-    private static class Node<T> {
-        T data;
-        Node<T> next;
-        Node<T> prev;
-
-        Node(T data) {
-            this.data = data;
-            this.next = null;
-            this.prev = null;
-        }
-    }
-
-    private Node<T> head;
-    private Node<T> tail;
-    private int size;
-
-    public LinkedList() {
-        this.head = null;
-        this.tail = null;
-        this.size = 0;
-    }
-
-    public boolean isEmpty() {
-        return head == null;
-    }
-
-    public int size() {
-        return size;
-    }
-
-    //used to implement DRY
-    private void initializeFirstNode(Node<T> newNode) {
-        head = newNode;
-        tail = newNode;
-    }
-
-
-     // Time Complexity: O(1)
-    public void addFirst(T data) {
-        Node<T> newNode = new Node<>(data);
-
-        if (isEmpty()) {
-            initializeFirstNode(newNode);
-        } else {
-            newNode.next = head;
-            head.prev = newNode;
-            head = newNode;
-        }
-
-        size++;
-    }
-
-
-
-    // Time Complexity: O(1)
-
-    public void addLast(T data) {
-        Node<T> newNode = new Node<>(data);
-
-        if (isEmpty()) {
-            initializeFirstNode(newNode);
-        } else {
-            newNode.prev = tail;
-            tail.next = newNode;
-            tail = newNode;
-        }
-
-        size++;
-    }
-
-    // Time Complexity: O(1)
-    public T removeFirst() {
-        if (isEmpty()) {
-            throw new NoSuchElementException("List is empty");
-        }
-
-        T data = head.data;
-        Node<T> oldHead = head;
-
-        head = head.next;
-
-        if (head != null) {
-            head.prev = null;
-        } else {
-            tail = null;
-        }
-
-        // Cleared all references to help GC
-        oldHead.next = null;
-        oldHead.prev = null;
-        oldHead.data = null;
-
-        size--;
-        return data;
-    }
-
-    // Time Complexity: O(1)
-    public T removeLast() {
-        if (isEmpty()) {
-            throw new NoSuchElementException("List is empty");
-        }
-
-        T data = tail.data;
-        Node<T> oldTail = tail;
-
-        tail = tail.prev;
-
-        if (tail != null) {
-            tail.next = null;
-        } else {
-            head = null;
-        }
-
-
-        oldTail.next = null;
-        oldTail.prev = null;
-        oldTail.data = null;
-
-        size--;
-        return data;
-    }
-
-
-     // Display all elements
-    public void display() {
-        if (isEmpty()) {
-            System.out.println("Playlist is empty");
-            return;
-        }
-
-        System.out.println("\n" + "═".repeat(70));
-        System.out.println("🎵 CURRENT PLAYLIST (" + size + " songs)");
-        System.out.println("═".repeat(70));
-
-        int position = 1;
-        for (T item : this) {
-            System.out.printf("%2d. %s\n", position++, item);
-        }
-
-        System.out.println("═".repeat(70) + "\n");
-    }
-
-    @Override
-    public Iterator<T> iterator() {
-        return new Iterator<>() {
-            private Node<T> current = head;
-
-            @Override
-            public boolean hasNext() {
-                return current != null;
-            }
-
-            @Override
-            public T next() {
-                if (!hasNext()) {
-                    throw new NoSuchElementException();
-                }
-                T data = current.data;
-                current = current.next;
-                return data;
-            }
-        };
-    }
-
-
-    public void clear() {
-        head = null;
-        tail = null;
-        size = 0;
-    }
-}
-
-
-class Song {
-    private final long id;
-    private final String name;
-    private final String artist;
-
-    Song(long id, String name, String artist) {
-        if (id <= 0) {
-            throw new IllegalArgumentException("ID must be positive");
-        }
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Name cannot be empty");
-        }
-        if (artist == null || artist.trim().isEmpty()) {
-            throw new IllegalArgumentException("Artist cannot be empty");
-        }
-
-        this.id = id;
-        this.name = name.trim();
-        this.artist = artist.trim();
-    }
-
-
-    @Override
-    public String toString() {
-        return String.format("[ID: %d] %s - %s", id, name, artist);
-    }
-}
-
-
 public class MusicPlaylist {
     static void displayMenu() {
         System.out.println("MUSIC PLAYLIST");
@@ -217,7 +14,12 @@ public class MusicPlaylist {
         System.out.println("3. View playlist");
         System.out.println("4. Remove song from top");
         System.out.println("5. Remove song from end");
-        System.out.println("6. Exit");
+        System.out.println("6. Shuffle play next song");
+        System.out.println("7. Remove song by ID");
+        System.out.println("8. Move song to top by ID");
+        System.out.println("9. Save playlist to file");
+        System.out.println("10. Load playlist from file");
+        System.out.println("11. Exit");
         System.out.print("Enter your choice: ");
     }
 
@@ -267,8 +69,96 @@ public class MusicPlaylist {
         System.out.println("Removed from end: " + removed);
     }
 
+    private static long readSongId(Scanner sc) {
+        System.out.print("Enter song ID: ");
+        long id = sc.nextLong();
+        sc.nextLine();
+        return id;
+    }
+
+    private static void removeById(Scanner sc, LinkedList<Song> playlist) {
+        long id = readSongId(sc);
+        Song removed = playlist.remove(id);
+        if (removed == null) {
+            System.out.println("No song with ID " + id);
+        } else {
+            System.out.println("Removed: " + removed);
+        }
+    }
+
+    private static void moveToTop(Scanner sc, LinkedList<Song> playlist) {
+        long id = readSongId(sc);
+        if (playlist.moveToFront(id)) {
+            System.out.println("Moved song " + id + " to top of playlist");
+        } else {
+            System.out.println("No song with ID " + id);
+        }
+    }
+
+    // shuffle over the song ids taken when it started. a position can point at another
+    // song after an edit, so any change to the playlist starts a new shuffle
+    private static final class Shuffle {
+        final long[] ids;
+        final ShuffleOrder order;
+        final int modCount;
+
+        Shuffle(LinkedList<Song> playlist) {
+            ids = new long[playlist.size()];
+            int i = 0;
+            for (Song song : playlist) {
+                ids[i++] = song.getId();
+            }
+            order = new ShuffleOrder(ids.length);
+            modCount = playlist.modCount();
+        }
+    }
+
+    // next song in shuffle mode, O(1) through the id index
+    private static Shuffle shuffleNext(LinkedList<Song> playlist, Shuffle shuffle) {
+        if (playlist.isEmpty()) {
+            throw new NoSuchElementException("Playlist is empty");
+        }
+        if (shuffle == null || shuffle.modCount != playlist.modCount()) {
+            shuffle = new Shuffle(playlist);
+        }
+        Song song = playlist.getByKey(shuffle.ids[shuffle.order.next()]);
+        System.out.println("Now playing (shuffle): " + song);
+        return shuffle;
+    }
+
+    private static Path readPath(Scanner sc) {
+        System.out.print("Enter file path: ");
+        return Paths.get(sc.nextLine().trim());
+    }
+
+    private static void savePlaylist(Scanner sc, LinkedList<Song> playlist) throws IOException {
+        Path file = readPath(sc);
+        try (PlaylistWriter writer = new PlaylistWriter(file)) {
+            writer.writeAll(playlist);
+            System.out.println("Saved " + writer.written() + " songs to " + file);
+        }
+    }
+
+    // replaces the playlist with the file contents, returns the next free song id
+    private static long loadPlaylist(Scanner sc, LinkedList<Song> playlist) throws IOException {
+        Path file = readPath(sc);
+        // read into a separate list so a bad file leaves the current playlist alone
+        LinkedList<Song> loaded = new LinkedList<>(Song::getId);
+        long count = new PlaylistReader(file).readInto(loaded);
+        // the loaded list is already indexed, take it over instead of copying it in
+        playlist.swap(loaded);
+        System.out.println("Loaded " + count + " songs from " + file);
+
+        long maxId = 0;
+        for (Song song : playlist) {
+            maxId = Math.max(maxId, song.getId());
+        }
+        return maxId + 1;
+    }
+
     public static void main(String[] args) {
-        LinkedList<Song> playlist = new LinkedList<>();
+        LinkedList<Song> playlist = new LinkedList<>(Song::getId);
+        Shuffle shuffle = null;
         long songId = 1;
         // try with resources Guarantees Scanner is closed
         try (Scanner sc = new Scanner(System.in)) {
@@ -297,13 +187,28 @@ public class MusicPlaylist {
                             removeFromEnd(playlist);
                             break;
                         case 6:
+                            shuffle = shuffleNext(playlist, shuffle);
+                            break;
+                        case 7:
+                            removeById(sc, playlist);
+                            break;
+                        case 8:
+                            moveToTop(sc, playlist);
+                            break;
+                        case 9:
+                            savePlaylist(sc, playlist);
+                            break;
+                        case 10:
+                            songId = loadPlaylist(sc, playlist);
+                            break;
+                        case 11:
                             System.out.println("\n Thank you for using Music Playlist Manager");
                             running = false;
                             break;
                         default:
                             System.out.println(" Invalid choice. Please try again.");
                     }
-                } catch (NoSuchElementException e) {
+                } catch (NoSuchElementException | IOException | IllegalArgumentException e) {
                     System.out.println("Error: " + e.getMessage());
                 }
             }
@@ -0,0 +1,251 @@
+package Day3;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// immutable playlist: every edit returns a new version and the old one stays valid.
+// it is an implicit treap (a randomly balanced tree ordered by position, each node
+// knows its subtree size), an edit copies only the O(log n) nodes on the path it
+// touches and shares every other node with the previous version.
+// keeping old versions around for undo or handing one to another user costs
+// nothing extra, no copy of the whole list is ever made.
+final class PersistentPlaylist<T> implements Iterable<T> {
+
+    private static final class Node<T> {
+        final T data;
+        final int priority;
+        final int size;
+        final Node<T> left;
+        final Node<T> right;
+
+        Node(T data, int priority, Node<T> left, Node<T> right) {
+            this.data = data;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        // same element and priority, different children
+        Node<T> with(Node<T> left, Node<T> right) {
+            return new Node<>(data, priority, left, right);
+        }
+    }
+
+    private static final PersistentPlaylist<?> EMPTY = new PersistentPlaylist<>(null);
+
+    private final Node<T> root;
+
+    private PersistentPlaylist(Node<T> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentPlaylist<T> empty() {
+        return (PersistentPlaylist<T>) EMPTY;
+    }
+
+    // Time Complexity: O(n log n)
+    public static <T> PersistentPlaylist<T> of(Iterable<? extends T> items) {
+        PersistentPlaylist<T> playlist = empty();
+        for (T item : items) {
+            playlist = playlist.addLast(item);
+        }
+        return playlist;
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    // Time Complexity: O(log n)
+    public T get(int index) {
+        checkIndex(index);
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.data;
+            }
+        }
+    }
+
+    // Time Complexity: O(log n)
+    public PersistentPlaylist<T> set(int index, T data) {
+        checkIndex(index);
+        return new PersistentPlaylist<>(set(root, index, data));
+    }
+
+    // new version with data at position index (0..size). O(log n)
+    public PersistentPlaylist<T> insertAt(int index, T data) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", index, size())
+            );
+        }
+        int priority = ThreadLocalRandom.current().nextInt();
+        return new PersistentPlaylist<>(insert(root, index, data, priority));
+    }
+
+    public PersistentPlaylist<T> addFirst(T data) {
+        return insertAt(0, data);
+    }
+
+    public PersistentPlaylist<T> addLast(T data) {
+        return insertAt(size(), data);
+    }
+
+    // Time Complexity: O(log n)
+    public PersistentPlaylist<T> removeAt(int index) {
+        checkIndex(index);
+        return new PersistentPlaylist<>(remove(root, index));
+    }
+
+    // moves the song at from so it ends up at position to. O(log n)
+    public PersistentPlaylist<T> move(int from, int to) {
+        checkIndex(from);
+        checkIndex(to);
+        if (from == to) {
+            return this;
+        }
+        return removeAt(from).insertAt(to, get(from));
+    }
+
+    // this version followed by other, both stay unchanged. O(log n)
+    public PersistentPlaylist<T> concat(PersistentPlaylist<T> other) {
+        return new PersistentPlaylist<>(merge(root, other.root));
+    }
+
+    // songs in [from, to) as their own version. O(log n)
+    public PersistentPlaylist<T> subList(int from, int to) {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException(
+                    String.format("From: %d, To: %d, Size: %d", from, to, size())
+            );
+        }
+        Node<T> right = split(root, to)[0];
+        return new PersistentPlaylist<>(split(right, from)[1]);
+    }
+
+    private static <T> Node<T> set(Node<T> node, int index, T data) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return node.with(set(node.left, index, data), node.right);
+        }
+        if (index > leftSize) {
+            return node.with(node.left, set(node.right, index - leftSize - 1, data));
+        }
+        return new Node<>(data, node.priority, node.left, node.right);
+    }
+
+    // walks down until the new node's priority wins, then splits what is below it
+    private static <T> Node<T> insert(Node<T> node, int index, T data, int priority) {
+        if (node == null || priority > node.priority) {
+            Node<T>[] parts = split(node, index);
+            return new Node<>(data, priority, parts[0], parts[1]);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return node.with(insert(node.left, index, data, priority), node.right);
+        }
+        return node.with(node.left, insert(node.right, index - leftSize - 1, data, priority));
+    }
+
+    private static <T> Node<T> remove(Node<T> node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return node.with(remove(node.left, index), node.right);
+        }
+        if (index > leftSize) {
+            return node.with(node.left, remove(node.right, index - leftSize - 1));
+        }
+        return merge(node.left, node.right);
+    }
+
+    // first count elements on the left, the rest on the right. copies only the split path
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] split(Node<T> node, int count) {
+        if (node == null) {
+            return (Node<T>[]) new Node<?>[2];
+        }
+        int leftSize = size(node.left);
+        if (count <= leftSize) {
+            Node<T>[] parts = split(node.left, count);
+            parts[1] = node.with(parts[1], node.right);
+            return parts;
+        }
+        Node<T>[] parts = split(node.right, count - leftSize - 1);
+        parts[0] = node.with(node.left, parts[0]);
+        return parts;
+    }
+
+    // every element of a before every element of b
+    private static <T> Node<T> merge(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            return a.with(a.left, merge(a.right, b));
+        }
+        return b.with(merge(a, b.left), b.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", index, size())
+            );
+        }
+    }
+
+    // in order walk with an explicit stack of the left spine
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private final ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<T> node) {
+                for (; node != null; node = node.left) {
+                    stack.push(node);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> node = stack.pop();
+                pushLeft(node.right);
+                return node.data;
+            }
+        };
+    }
+}
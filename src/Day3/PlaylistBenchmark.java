@@ -0,0 +1,200 @@
+package Day3;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+// playlist structures on a million songs, run main directly.
+// positional ops: IndexableSkipList vs ArrayList (shifts the array on insert/remove).
+// add/iterate: node based LinkedList vs array backed ArrayLinkedList.
+// snapshots: edit + keep the old version, PersistentPlaylist vs copying a LinkedList.
+public class PlaylistBenchmark {
+    private static final int SONGS = 1_000_000;
+    private static final int OPS = 200_000;
+    private static final int LINKED_SONGS = 1_000_000;
+    private static final int ITERATIONS = 10;
+    private static final int VERSIONS = 50_000;
+    private static final int COPIES = 20;
+
+    private static long checksum;
+
+    public static void main(String[] args) {
+        Song[] songs = new Song[SONGS + OPS];
+        for (int i = 0; i < songs.length; i++) {
+            songs[i] = new Song(i + 1, "Song " + (i + 1), "Artist " + (i % 1000));
+        }
+
+        System.out.println(SONGS + " songs, " + OPS + " ops each, ns per op");
+        System.out.printf("%-18s %10s %10s %10s %10s\n", "", "insertAt", "get", "removeAt", "move");
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1; // first round is warmup
+            skipList(songs, print);
+            arrayList(songs, print);
+        }
+
+        System.out.println("\n" + LINKED_SONGS + " songs added alternately to front and back, ms");
+        System.out.printf("%-18s %10s %10s %10s\n", "", "add", "iterate", "remove");
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            nodeList(songs, print);
+            arrayLinkedList(songs, print);
+        }
+        System.out.println("\n" + SONGS + " songs, random insert keeping every old version, ns per edit");
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1;
+            persistentVersions(songs, print);
+            copiedVersions(songs, print);
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+    private static void skipList(Song[] songs, boolean print) {
+        IndexableSkipList<Song> playlist = new IndexableSkipList<>();
+        for (int i = 0; i < SONGS; i++) playlist.addLast(songs[i]);
+        Random random = new Random(42);
+        long[] nanos = new long[4];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) playlist.insertAt(random.nextInt(playlist.size() + 1), songs[SONGS + i]);
+        nanos[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) checksum += playlist.get(random.nextInt(playlist.size())).hashCode();
+        nanos[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) checksum += playlist.removeAt(random.nextInt(playlist.size())).hashCode();
+        nanos[2] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) playlist.move(random.nextInt(playlist.size()), random.nextInt(playlist.size()));
+        nanos[3] = System.nanoTime() - start;
+
+        if (print) printRow("IndexableSkipList", nanos);
+    }
+
+    private static void arrayList(Song[] songs, boolean print) {
+        ArrayList<Song> playlist = new ArrayList<>();
+        for (int i = 0; i < SONGS; i++) playlist.add(songs[i]);
+        Random random = new Random(42);
+        long[] nanos = new long[4];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) playlist.add(random.nextInt(playlist.size() + 1), songs[SONGS + i]);
+        nanos[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) checksum += playlist.get(random.nextInt(playlist.size())).hashCode();
+        nanos[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) checksum += playlist.remove(random.nextInt(playlist.size())).hashCode();
+        nanos[2] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) {
+            int from = random.nextInt(playlist.size());
+            int to = random.nextInt(playlist.size());
+            playlist.add(to, playlist.remove(from));
+        }
+        nanos[3] = System.nanoTime() - start;
+
+        if (print) printRow("ArrayList", nanos);
+    }
+
+    private static void nodeList(Song[] songs, boolean print) {
+        long[] nanos = new long[3];
+        long start = System.nanoTime();
+        LinkedList<Song> playlist = new LinkedList<>();
+        for (int i = 0; i < LINKED_SONGS; i++) {
+            if ((i & 1) == 0) playlist.addFirst(songs[i]); else playlist.addLast(songs[i]);
+        }
+        nanos[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            for (Song song : playlist) checksum += song.hashCode();
+        }
+        nanos[1] = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        while (!playlist.isEmpty()) {
+            checksum += playlist.removeFirst().hashCode();
+            if (!playlist.isEmpty()) checksum += playlist.removeLast().hashCode();
+        }
+        nanos[2] = System.nanoTime() - start;
+
+        if (print) printMillis("LinkedList", nanos);
+    }
+
+    private static void arrayLinkedList(Song[] songs, boolean print) {
+        long[] nanos = new long[3];
+        long start = System.nanoTime();
+        ArrayLinkedList<Song> playlist = new ArrayLinkedList<>();
+        for (int i = 0; i < LINKED_SONGS; i++) {
+            if ((i & 1) == 0) playlist.addFirst(songs[i]); else playlist.addLast(songs[i]);
+        }
+        nanos[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            for (Song song : playlist) checksum += song.hashCode();
+        }
+        nanos[1] = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        while (!playlist.isEmpty()) {
+            checksum += playlist.removeFirst().hashCode();
+            if (!playlist.isEmpty()) checksum += playlist.removeLast().hashCode();
+        }
+        nanos[2] = System.nanoTime() - start;
+
+        if (print) printMillis("ArrayLinkedList", nanos);
+    }
+
+    private static void persistentVersions(Song[] songs, boolean print) {
+        PersistentPlaylist<Song> playlist = PersistentPlaylist.empty();
+        for (int i = 0; i < SONGS; i++) playlist = playlist.addLast(songs[i]);
+        @SuppressWarnings("unchecked")
+        PersistentPlaylist<Song>[] versions = (PersistentPlaylist<Song>[]) new PersistentPlaylist<?>[VERSIONS];
+        Random random = new Random(42);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < VERSIONS; i++) {
+            versions[i] = playlist;
+            playlist = playlist.insertAt(random.nextInt(playlist.size() + 1), songs[SONGS + i]);
+        }
+        long nanos = System.nanoTime() - start;
+        checksum += versions[VERSIONS / 2].size() + playlist.size();
+
+        if (print) System.out.printf("%-18s %10d\n", "PersistentPlaylist", nanos / VERSIONS);
+    }
+
+    private static void copiedVersions(Song[] songs, boolean print) {
+        LinkedList<Song> playlist = new LinkedList<>();
+        for (int i = 0; i < SONGS; i++) playlist.addLast(songs[i]);
+        Random random = new Random(42);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < COPIES; i++) {
+            LinkedList<Song> copy = new LinkedList<>();
+            for (Song song : playlist) copy.addLast(song);
+            LinkedList<Song> rest = copy.splitAt(random.nextInt(copy.size() + 1));
+            copy.addLast(songs[SONGS + i]);
+            copy.appendAll(rest);
+            checksum += playlist.size();
+            playlist = copy;
+        }
+        long nanos = System.nanoTime() - start;
+
+        if (print) System.out.printf("%-18s %10d\n", "LinkedList copy", nanos / COPIES);
+    }
+
+    private static void printMillis(String name, long[] nanos) {
+        System.out.printf("%-18s %10.1f %10.1f %10.1f\n", name, nanos[0] / 1e6, nanos[1] / 1e6, nanos[2] / 1e6);
+    }
+
+    private static void printRow(String name, long[] nanos) {
+        System.out.printf("%-18s %10d %10d %10d %10d\n", name,
+                nanos[0] / OPS, nanos[1] / OPS, nanos[2] / OPS, nanos[3] / OPS);
+    }
+}
@@ -0,0 +1,127 @@
+package Day3;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// save/load of a 5M song playlist file, run main directly (-Xmx2g).
+// peak heap is the sum of the heap pools' peaks since the phase started, it includes
+// garbage the collector had not got to yet. live heap is what is left after a full gc
+// at the end of the phase, i.e. what the phase really has to keep.
+// save: songs are generated on the fly, so only the writer buffer is live.
+// scan: read and drop every song, shows the reader itself needs almost no heap.
+// load: read into a LinkedList, the heap is then mostly the playlist itself.
+public class PlaylistIOBenchmark {
+    private static final int SONGS = 5_000_000;
+    private static final int ROUNDS = 3;
+
+    private static long checksum;
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("playlist", ".tsv");
+        try {
+            System.out.println(SONGS + " songs, best of " + ROUNDS + " rounds");
+            System.out.printf("%-6s %10s %12s %14s %14s\n", "", "ms", "songs/sec", "peak heap MB", "live heap MB");
+            long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+            long[] peak = new long[3];
+            long[] live = new long[3];
+
+            for (int round = 0; round < ROUNDS; round++) {
+                resetPeaks();
+                long start = System.nanoTime();
+                save(file);
+                best[0] = Math.min(best[0], System.nanoTime() - start);
+                peak[0] = Math.max(peak[0], peakHeap());
+                live[0] = Math.max(live[0], liveHeap());
+
+                resetPeaks();
+                start = System.nanoTime();
+                long count = new PlaylistReader(file).read(song -> checksum += song.getId());
+                best[1] = Math.min(best[1], System.nanoTime() - start);
+                peak[1] = Math.max(peak[1], peakHeap());
+                live[1] = Math.max(live[1], liveHeap());
+                checksum += count;
+
+                LinkedList<Song> playlist = new LinkedList<>();
+                resetPeaks();
+                start = System.nanoTime();
+                new PlaylistReader(file).readInto(playlist);
+                best[2] = Math.min(best[2], System.nanoTime() - start);
+                peak[2] = Math.max(peak[2], peakHeap());
+                live[2] = Math.max(live[2], liveHeap());
+                checksum += playlist.size();
+                playlist.clear();
+            }
+
+            printRow("save", best[0], peak[0], live[0]);
+            printRow("scan", best[1], peak[1], live[1]);
+            printRow("load", best[2], peak[2], live[2]);
+            System.out.printf("file %.1f MB, checksum %d\n", Files.size(file) / 1e6, checksum);
+            checkIdBoundary(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void save(Path file) throws IOException {
+        try (PlaylistWriter writer = new PlaylistWriter(file)) {
+            for (int i = 1; i <= SONGS; i++) {
+                writer.write(new Song(i, "Song " + i, "Artist " + (i % 1000)));
+            }
+        }
+    }
+
+    // the largest id the writer can produce has to load again, one past it must not
+    private static void checkIdBoundary(Path file) throws IOException {
+        try (PlaylistWriter writer = new PlaylistWriter(file)) {
+            writer.write(new Song(Long.MAX_VALUE, "Last", "Artist"));
+            writer.write(new Song(1, "First", "Artist"));
+        }
+        LinkedList<Song> loaded = new LinkedList<>(Song::getId);
+        new PlaylistReader(file).readInto(loaded);
+        boolean roundTrip = loaded.size() == 2 && loaded.contains(Long.MAX_VALUE) && loaded.contains(1L);
+
+        Files.write(file, ("9223372036854775808\tOver\tArtist\n").getBytes(StandardCharsets.UTF_8));
+        boolean overflowRejected = false;
+        try {
+            new PlaylistReader(file).read(song -> { });
+        } catch (IOException e) {
+            overflowRejected = true;
+        }
+        System.out.println("id boundary round trip: " + (roundTrip && overflowRejected ? "OK" : "BROKEN"));
+    }
+
+    // also leaves a clean heap for the next phase
+    private static long liveHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void resetPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static void printRow(String name, long nanos, long peak, long live) {
+        System.out.printf("%-6s %10.0f %12.0f %14.0f %14.0f\n", name,
+                nanos / 1e6, SONGS / (nanos / 1e9), peak / 1e6, live / 1e6);
+    }
+}
@@ -0,0 +1,153 @@
+package Day3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// reads a playlist file written by PlaylistWriter.
+// the file is pulled through one large buffer and every line is parsed in place
+// and handed over as a Song right away, nothing but the songs themselves ends up
+// on the heap, so the list can be built while the file is still being read.
+class PlaylistReader {
+    static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final Path file;
+    private final int bufferSize;
+    // scratch space for unescaping a field
+    private byte[] field = new byte[256];
+
+    PlaylistReader(Path file) {
+        this(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    PlaylistReader(Path file, int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Buffer size too small");
+        }
+        this.file = file;
+        this.bufferSize = bufferSize;
+    }
+
+    // appends every song to the end of the playlist, returns how many
+    public long readInto(LinkedList<Song> playlist) throws IOException {
+        return read(playlist::addLast);
+    }
+
+    // visits every song in file order, returns how many
+    public long read(Consumer<? super Song> visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            boolean eof = false;
+            while (!eof) {
+                eof = channel.read(buffer) < 0;
+                byte[] bytes = buffer.array();
+                int start = 0;
+                int end = buffer.position();
+
+                for (int i = start; i < end; i++) {
+                    if (bytes[i] == '\n') {
+                        visitor.accept(parse(bytes, start, i, count + 1));
+                        count++;
+                        start = i + 1;
+                    }
+                }
+                if (eof && start < end) {
+                    // last line without a newline
+                    visitor.accept(parse(bytes, start, end, count + 1));
+                    count++;
+                    start = end;
+                }
+
+                // keep the partial line for the next read
+                buffer.position(start).limit(end);
+                buffer.compact();
+                if (!buffer.hasRemaining()) {
+                    // one line longer than the whole buffer
+                    ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    buffer.flip();
+                    buffer = larger.put(buffer);
+                }
+            }
+        }
+        return count;
+    }
+
+    private Song parse(byte[] bytes, int from, int to, long line) throws IOException {
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        int firstTab = indexOf(bytes, from, to, (byte) '\t');
+        int secondTab = firstTab < 0 ? -1 : indexOf(bytes, firstTab + 1, to, (byte) '\t');
+        if (secondTab < 0) {
+            throw new IOException("Malformed playlist line " + line + ": expected 3 fields");
+        }
+
+        long id = parseId(bytes, from, firstTab, line);
+        String name = decode(bytes, firstTab + 1, secondTab);
+        String artist = decode(bytes, secondTab + 1, to);
+        try {
+            return new Song(id, name, artist);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed playlist line " + line + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static long parseId(byte[] bytes, int from, int to, long line) throws IOException {
+        if (from == to) {
+            throw new IOException("Malformed playlist line " + line + ": bad id");
+        }
+        long id = 0;
+        for (int i = from; i < to; i++) {
+            int digit = bytes[i] - '0';
+            // the writer puts out any positive long, one more digit must still fit
+            if (digit < 0 || digit > 9 || id > (Long.MAX_VALUE - digit) / 10) {
+                throw new IOException("Malformed playlist line " + line + ": bad id");
+            }
+            id = id * 10 + digit;
+        }
+        return id;
+    }
+
+    // most fields have nothing escaped and decode straight from the read buffer
+    private String decode(byte[] bytes, int from, int to) {
+        int backslash = indexOf(bytes, from, to, (byte) '\\');
+        if (backslash < 0) {
+            return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+        }
+
+        if (field.length < to - from) {
+            field = new byte[Math.max(to - from, field.length * 2)];
+        }
+        int length = backslash - from;
+        System.arraycopy(bytes, from, field, 0, length);
+        for (int i = backslash; i < to; i++) {
+            byte b = bytes[i];
+            if (b == '\\' && i + 1 < to) {
+                byte escaped = bytes[++i];
+                switch (escaped) {
+                    case 't': b = '\t'; break;
+                    case 'n': b = '\n'; break;
+                    case 'r': b = '\r'; break;
+                    default: b = escaped;
+                }
+            }
+            field[length++] = b;
+        }
+        return new String(field, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
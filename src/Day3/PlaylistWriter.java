@@ -0,0 +1,152 @@
+package Day3;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// writes songs to a playlist file one at a time, PlaylistReader reads it back.
+// songs are encoded straight into a large buffer that goes to the channel only
+// when it is full, so millions of songs mean a few hundred writes, not millions.
+//
+// file = UTF-8 lines of id \t name \t artist \n, with \ \t \n \r in names escaped as \\ \t \n \r
+class PlaylistWriter implements Closeable {
+    static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private long written;
+
+    PlaylistWriter(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    PlaylistWriter(Path file, int bufferSize) throws IOException {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Buffer size too small");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    public void write(Song song) throws IOException {
+        if (song == null) {
+            throw new IllegalArgumentException("Song cannot be null");
+        }
+        String name = song.getName();
+        String artist = song.getArtist();
+        // id + 2 tabs + newline, then at most 3 bytes per char (escaped ascii is 2)
+        int worstCase = 23 + 3 * (name.length() + artist.length());
+        if (buffer.remaining() < worstCase) {
+            flush();
+            if (buffer.capacity() < worstCase) {
+                buffer = ByteBuffer.allocate(worstCase);
+            }
+        }
+
+        putLong(song.getId());
+        buffer.put((byte) '\t');
+        putEscaped(name);
+        buffer.put((byte) '\t');
+        putEscaped(artist);
+        buffer.put((byte) '\n');
+        written++;
+    }
+
+    public void writeAll(Iterable<? extends Song> songs) throws IOException {
+        for (Song song : songs) {
+            write(song);
+        }
+    }
+
+    // hands the buffered songs to the channel
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public long written() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void putLong(long value) {
+        if (value == 0) {
+            buffer.put((byte) '0');
+            return;
+        }
+        // ids are positive, write the digits backwards into place
+        int digits = 0;
+        for (long v = value; v != 0; v /= 10) {
+            digits++;
+        }
+        int end = buffer.position() + digits;
+        for (int i = end - 1; value != 0; i--) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+    private void putEscaped(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // not plain ascii, let the encoder handle the rest of the string
+                putEncoded(text, i);
+                return;
+            }
+            putAscii(c);
+        }
+    }
+
+    private void putEncoded(String text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                putAscii(c);
+                continue;
+            }
+            int end = i + 1;
+            while (end < text.length() && text.charAt(end) >= 0x80) {
+                end++;
+            }
+            buffer.put(text.substring(i, end).getBytes(StandardCharsets.UTF_8));
+            i = end - 1;
+        }
+    }
+
+    private void putAscii(char c) {
+        switch (c) {
+            case '\\':
+                buffer.put((byte) '\\').put((byte) '\\');
+                break;
+            case '\t':
+                buffer.put((byte) '\\').put((byte) 't');
+                break;
+            case '\n':
+                buffer.put((byte) '\\').put((byte) 'n');
+                break;
+            case '\r':
+                buffer.put((byte) '\\').put((byte) 'r');
+                break;
+            default:
+                buffer.put((byte) c);
+        }
+    }
+}
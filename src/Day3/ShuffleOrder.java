@@ -0,0 +1,91 @@
+package Day3;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// lazy shuffle: a random permutation of 0..size-1 computed one step at a time.
+// no index array and no up front copy, step k is encrypt(k) with a small Feistel
+// network over the next power of 4 >= size; results outside 0..size-1 are encrypted
+// again (cycle walking) until they land inside, on average less than 4 rounds.
+// a bijection never repeats, so no song plays twice until all have played; then
+// a new key gives a new order.
+class ShuffleOrder {
+    private static final int ROUNDS = 4;
+
+    private final int size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] keys = new long[ROUNDS];
+    private int step;
+
+    ShuffleOrder(int size) {
+        this(size, ThreadLocalRandom.current().nextLong());
+    }
+
+    ShuffleOrder(int size, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        this.size = size;
+        int bits = 64 - Long.numberOfLeadingZeros(size - 1L);
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        reseed(seed);
+    }
+
+    // index of the next song, O(1) expected
+    public int next() {
+        if (step == size) {
+            // everything played once, start a fresh order
+            reseed(mix(keys[0] + size));
+        }
+        return indexAt(step++);
+    }
+
+    // the song played at a given step of the current round, lets "previous" work too
+    public int indexAt(int step) {
+        if (step < 0 || step >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Step: %d, Size: %d", step, size)
+            );
+        }
+        long value = step;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return (int) value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int remainingInRound() {
+        return size - step;
+    }
+
+    private void reseed(long seed) {
+        for (int i = 0; i < ROUNDS; i++) {
+            seed = mix(seed + i);
+            keys[i] = seed;
+        }
+        step = 0;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long key : keys) {
+            long next = left ^ (mix(right ^ key) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,41 @@
+package Day3;
+
+class Song {
+    private final long id;
+    private final String name;
+    private final String artist;
+
+    Song(long id, String name, String artist) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("ID must be positive");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be empty");
+        }
+        if (artist == null || artist.trim().isEmpty()) {
+            throw new IllegalArgumentException("Artist cannot be empty");
+        }
+
+        this.id = id;
+        this.name = name.trim();
+        this.artist = artist.trim();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getArtist() {
+        return artist;
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format("[ID: %d] %s - %s", id, name, artist);
+    }
+}
@@ -1,48 +1,190 @@
 package Day4;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 
 
 public class BrowserTabsManager {
 
     static final class Tab{
+        // resident memory of a loaded tab when the caller has no better estimate
+        static final long DEFAULT_MEMORY_BYTES = 64L << 20;
+
         private final String title;
         private final String url;
+        // site the tab belongs to, see hostOf
+        private final String host;
         private final long openedAt;
         private long lastAccessedAt;
+        // memory the tab takes while loaded
+        private final long memoryBytes;
+        private boolean suspended;
 
         Tab(String title, String url) {
+            this(title, url, DEFAULT_MEMORY_BYTES);
+        }
+
+        Tab(String title, String url, long memoryBytes) {
+            this(title, url, memoryBytes, System.currentTimeMillis(), 0);
+        }
+
+        // brings back a tab that was saved earlier, with its original timestamps
+        Tab(String title, String url, long memoryBytes, long openedAt, long lastAccessedAt) {
             if (title == null || title.trim().isEmpty()) {
                 throw new IllegalArgumentException("Title cannot be empty");
             }
+            if (memoryBytes < 0) {
+                throw new IllegalArgumentException("Memory cannot be negative");
+            }
 
             this.title = title.trim();
             this.url = url != null ? url.trim() : "about:blank";
-            this.openedAt = System.currentTimeMillis();
-            this.lastAccessedAt = this.openedAt;
+            this.host = hostOf(this.url);
+            this.openedAt = openedAt;
+            this.lastAccessedAt = Math.max(openedAt, lastAccessedAt);
+            this.memoryBytes = memoryBytes;
         }
 
         //getters
         public String getTitle() { return title; }
         public String getUrl() { return url; }
+        public String getHost() { return host; }
         public long getOpenedAt() { return openedAt; }
         public long getLastAccessedAt() { return lastAccessedAt; }
+        public boolean isSuspended() { return suspended; }
+
+        // memory in use right now, nothing while suspended
+        public long getMemoryBytes() { return suspended ? 0 : memoryBytes; }
+
+        // lower case host without scheme, user, port and a leading "www.", so
+        // "https://www.GitHub.com:443/x" and "github.com" are the same site.
+        // urls without a host (about:blank) are their own site
+        static String hostOf(String url) {
+            String host = url.trim().toLowerCase();
+            String schemeName = "";
+            int scheme = host.indexOf("://");
+            if (scheme >= 0) {
+                schemeName = host.substring(0, scheme);
+                host = host.substring(scheme + 3);
+            }
+            int end = host.length();
+            for (int i = 0; i < host.length(); i++) {
+                char c = host.charAt(i);
+                if (c == '/' || c == '?' || c == '#') {
+                    end = i;
+                    break;
+                }
+            }
+            host = host.substring(host.lastIndexOf('@', end - 1) + 1, end);
+            int port = host.lastIndexOf(':');
+            if (port > 0 && port < host.length() - 1 && isDigits(host, port + 1)) {
+                host = host.substring(0, port);
+            }
+            if (host.isEmpty()) {
+                // file:///... and the like, all local pages are one site
+                return schemeName;
+            }
+            return host.startsWith("www.") ? host.substring(4) : host;
+        }
+
+        private static boolean isDigits(String text, int from) {
+            for (int i = from; i < text.length(); i++) {
+                if (!Character.isDigit(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // memory it takes when loaded, suspended or not
+        long getLoadedBytes() { return memoryBytes; }
+
+        void touch() {
+            touch(System.currentTimeMillis());
+        }
+
+        void touch(long accessedAt) {
+            lastAccessedAt = Math.max(lastAccessedAt, accessedAt);
+        }
+
+        // unloads the page, only title, url and timestamps are kept. returns the bytes freed
+        long suspend() {
+            long freed = getMemoryBytes();
+            suspended = true;
+            return freed;
+        }
+
+        // loads the page again, returns the bytes it takes
+        long restore() {
+            suspended = false;
+            return memoryBytes;
+        }
 
         @Override
         public String toString() {
-            return String.format("%s | %s", title, url);
+            return String.format(suspended ? "%s | %s (suspended)" : "%s | %s", title, url);
         }
 
     }
 
     static class TabManager {
-        private final LinkedHashMap<String, Tab> tabs;
+        static final int DEFAULT_MAX_LOADED_TABS = 50;
+        static final long DEFAULT_MEMORY_BUDGET = 2L << 30;
+
+        // title index, the order tabs are shown in is kept per window
+        private final HashMap<String, Tab> tabs;
+        private final TabSearchIndex searchIndex;
+        // set by restoreTab: the index is rebuilt on the next search instead of
+        // one tab at a time while a saved session is replayed
+        private boolean searchIndexStale;
+
+        // loaded (not suspended) tabs in access order, least recently used first.
+        // get/put move a tab to the end in O(1), so the eldest is always the coldest
+        private final LinkedHashMap<String, Tab> loaded;
+        private final int maxLoadedTabs;
+        private final long memoryBudget;
+        private long loadedBytes;
+        private long evictions;
+        private long restores;
+
+        // one strip per window, new tabs open in the active one
+        private final List<TabStrip> windows = new ArrayList<>();
+        private final Map<Tab, TabStrip> stripOf = new HashMap<>();
+        private int activeWindow;
+
+        // host -> its open tabs in the order they were opened, so a whole site can
+        // be closed or gathered without looking at any other tab
+        private final Map<String, LinkedHashSet<Tab>> byHost = new HashMap<>();
+
+        // records every change when the session is persisted, null otherwise
+        private TabSessionJournal journal;
 
         TabManager() {
-            tabs = new LinkedHashMap<>();
+            this(DEFAULT_MAX_LOADED_TABS, DEFAULT_MEMORY_BUDGET);
+        }
+
+        // tabs beyond either limit are suspended, least recently used first
+        TabManager(int maxLoadedTabs, long memoryBudget) {
+            if (maxLoadedTabs < 1) {
+                throw new IllegalArgumentException("At least one tab must stay loaded");
+            }
+            if (memoryBudget < 0) {
+                throw new IllegalArgumentException("Memory budget cannot be negative");
+            }
+            tabs = new HashMap<>();
+            searchIndex = new TabSearchIndex();
+            windows.add(new TabStrip());
+            loaded = new LinkedHashMap<>(16, 0.75f, true);
+            this.maxLoadedTabs = maxLoadedTabs;
+            this.memoryBudget = memoryBudget;
         }
 
         public void openTab(String title, String url) {
+            openTab(title, url, Tab.DEFAULT_MEMORY_BYTES);
+        }
+
+        public void openTab(String title, String url, long memoryBytes) {
             String key = normalizeKey(title);
 
             if (tabs.containsKey(key)) {
@@ -50,11 +192,86 @@ public class BrowserTabsManager {
                 return;
             }
 
-            Tab tab = new Tab(title, url);
+            Tab tab = new Tab(title, url, memoryBytes);
             tabs.put(key, tab);
+            addToWindow(tab, activeWindow);
+            byHost.computeIfAbsent(tab.getHost(), host -> new LinkedHashSet<>()).add(tab);
+            if (!searchIndexStale) {
+                searchIndex.add(tab);
+            }
+            loaded.put(key, tab);
+            loadedBytes += tab.getMemoryBytes();
+            enforceBudget(key);
+            if (journal != null) {
+                journal.logOpen(tab);
+            }
             System.out.println(" Opened: " + tab);
         }
 
+        // puts back a tab from a saved session: quietly, not journaled and suspended,
+        // its page only loads when the user switches to it
+        void restoreTab(Tab tab) {
+            String key = normalizeKey(tab.getTitle());
+            if (tabs.containsKey(key)) {
+                return;
+            }
+            tab.suspend();
+            tabs.put(key, tab);
+            addToWindow(tab, activeWindow);
+            byHost.computeIfAbsent(tab.getHost(), host -> new LinkedHashSet<>()).add(tab);
+            searchIndexStale = true;
+        }
+
+        // replays a saved access, so recency survives a restart
+        void restoreAccess(String title, long accessedAt) {
+            Tab tab = tabs.get(normalizeKey(title));
+            if (tab != null) {
+                tab.touch(accessedAt);
+            }
+        }
+
+        // brings a tab to the front: records the access and reloads it if it was
+        // suspended, which may suspend colder tabs instead. O(1) plus evictions
+        public Tab switchToTab(String title) {
+            String key = normalizeKey(title);
+            Tab tab = tabs.get(key);
+            if (tab == null) {
+                System.out.println("Tab not found: " + title);
+                return null;
+            }
+
+            tab.touch();
+            if (journal != null) {
+                journal.logAccess(tab.getTitle(), tab.getLastAccessedAt());
+            }
+            selectWindow(windows.indexOf(stripOf.get(tab)));
+            if (tab.isSuspended()) {
+                loadedBytes += tab.restore();
+                loaded.put(key, tab);
+                restores++;
+                enforceBudget(key);
+            } else {
+                loaded.get(key); // moves it to the most recent end
+            }
+            System.out.println(" Switched to: " + tab);
+            return tab;
+        }
+
+        // suspends the least recently used tabs until both limits hold again,
+        // never the tab that was just used
+        private void enforceBudget(String keep) {
+            Iterator<Map.Entry<String, Tab>> coldest = loaded.entrySet().iterator();
+            while ((loaded.size() > maxLoadedTabs || loadedBytes > memoryBudget) && coldest.hasNext()) {
+                Map.Entry<String, Tab> entry = coldest.next();
+                if (entry.getKey().equals(keep)) {
+                    continue;
+                }
+                coldest.remove();
+                loadedBytes -= entry.getValue().suspend();
+                evictions++;
+            }
+        }
+
         public Tab closeTab(String title) {
             String key = normalizeKey(title);
 
@@ -63,17 +280,145 @@ public class BrowserTabsManager {
                 return null;
             }
 
-            Tab tab = tabs.get(key);
-            Tab removed = tabs.remove(key);
+            Tab removed = removeTab(key);
             System.out.println(" Closed: " + removed);
             return removed;
         }
 
+        // closes without any output, null if there is no such tab
+        Tab removeTab(String title) {
+            Tab removed = tabs.get(normalizeKey(title));
+            if (removed == null) {
+                return null;
+            }
+            unlink(removed);
+            Set<Tab> site = byHost.get(removed.getHost());
+            site.remove(removed);
+            if (site.isEmpty()) {
+                byHost.remove(removed.getHost());
+            }
+            if (journal != null) {
+                journal.logClose(removed.getTitle());
+            }
+            return removed;
+        }
+
+        // takes the tab out of everything but the host index
+        private void unlink(Tab tab) {
+            String key = normalizeKey(tab.getTitle());
+            tabs.remove(key);
+            if (!searchIndexStale) {
+                searchIndex.remove(tab);
+            }
+            stripOf.remove(tab).remove(tab);
+            if (loaded.remove(key) != null) {
+                loadedBytes -= tab.getMemoryBytes();
+            }
+        }
+
+        // closes every tab of a site and returns them, in the order they were opened.
+        // the caller gets one list to hand to TabHistory.addAllToHistory
+        public List<Tab> closeByDomain(String site) {
+            List<Tab> closed = removeDomain(site);
+            if (closed.isEmpty()) {
+                System.out.println("No tabs open for: " + site);
+            } else {
+                System.out.println(" Closed " + closed.size() + " tabs of " + Tab.hostOf(site));
+            }
+            return closed;
+        }
+
+        // Time Complexity: O(k log n) for the k tabs of the site, no other tab is looked at
+        List<Tab> removeDomain(String site) {
+            return removeHost(Tab.hostOf(site));
+        }
+
+        // host must already be the key hostOf produced, it is not normalized again.
+        // the journal logs that key and replays through here, hostOf strips one "www."
+        // per call so running it a second time could pick a different site
+        List<Tab> removeHost(String host) {
+            Set<Tab> tabsOfSite = byHost.remove(host);
+            if (tabsOfSite == null) {
+                return new ArrayList<>();
+            }
+            List<Tab> closed = new ArrayList<>(tabsOfSite);
+            for (Tab tab : closed) {
+                unlink(tab);
+            }
+            if (journal != null) {
+                journal.logCloseDomain(host);
+            }
+            return closed;
+        }
+
+        // open tabs of a site, in the order they were opened. O(k)
+        public List<Tab> tabsOfDomain(String site) {
+            Set<Tab> tabsOfSite = byHost.get(Tab.hostOf(site));
+            return tabsOfSite == null ? new ArrayList<>() : new ArrayList<>(tabsOfSite);
+        }
+
+        // open tab count per site, largest first
+        public List<Map.Entry<String, Integer>> domainCounts() {
+            List<Map.Entry<String, Integer>> counts = new ArrayList<>(byHost.size());
+            for (Map.Entry<String, LinkedHashSet<Tab>> entry : byHost.entrySet()) {
+                counts.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().size()));
+            }
+            counts.sort((a, b) -> b.getValue() - a.getValue());
+            return counts;
+        }
+
+        public void groupByDomain(String site) {
+            int grouped = groupDomain(site);
+            if (grouped == 0) {
+                System.out.println("No tabs open for: " + site);
+            } else {
+                System.out.println(" Grouped " + grouped + " tabs of " + Tab.hostOf(site));
+            }
+        }
+
+        // pulls the tabs of a site together right after the first one opened, in its
+        // window, in opening order (pinned ones stay in the pinned section).
+        // returns how many tabs the site has. O(k log n)
+        int groupDomain(String site) {
+            Set<Tab> tabsOfSite = byHost.get(Tab.hostOf(site));
+            if (tabsOfSite == null) {
+                return 0;
+            }
+            Tab previous = null;
+            int window = -1;
+            for (Tab tab : tabsOfSite) {
+                if (previous == null) {
+                    window = windows.indexOf(stripOf.get(tab));
+                } else {
+                    TabStrip strip = windows.get(window);
+                    int after = strip.indexOf(previous);
+                    int current = stripOf.get(tab) == strip ? strip.indexOf(tab) : -1;
+                    // taking the tab out first shifts everything after it left by one
+                    move(tab.getTitle(), window, current >= 0 && current < after ? after : after + 1);
+                }
+                previous = tab;
+            }
+            return tabsOfSite.size();
+        }
+
         public Tab searchTab(String title) {
             String key = normalizeKey(title);
             return tabs.get(key);
         }
 
+        // tabs whose title or url contain the text, falls back to typo tolerant
+        // matching when nothing contains it. best match first, then most recent
+        public List<Tab> findTabs(String text, int limit) {
+            if (searchIndexStale) {
+                searchIndex.clear();
+                for (Tab tab : tabs.values()) {
+                    searchIndex.add(tab);
+                }
+                searchIndexStale = false;
+            }
+            return searchIndex.fuzzySearch(text, limit);
+        }
+
         public void displayTabs() {
             if (tabs.isEmpty()) {
                 System.out.println("\n No tabs open\n");
@@ -84,24 +429,193 @@ public class BrowserTabsManager {
             System.out.println("OPEN TABS ("+ tabs.size()+")");
             System.out.println("═".repeat(80));
 
-            int position = 1;
-            for (Tab tab : tabs.values()) {
-                System.out.printf("%2d. %s\n", position++, tab);
+            for (int w = 0; w < windows.size(); w++) {
+                TabStrip strip = windows.get(w);
+                if (windows.size() > 1) {
+                    System.out.println("Window " + (w + 1) + (w == activeWindow ? " (active)" : "")
+                            + " - " + strip.size() + " tabs");
+                }
+                int position = 1;
+                for (Tab tab : strip.tabs()) {
+                    System.out.printf("%2d. %s%s\n", position++, strip.isPinned(tab) ? "[pinned] " : "", tab);
+                }
             }
 
             System.out.println("═".repeat(80) + "\n");
         }
 
+        // tab order of one window, pinned tabs first. O(log n + k)
+        public List<Tab> tabsInRange(int window, int from, int to) {
+            return window(window).range(from, to);
+        }
+
+        // position of a tab within its window, -1 if it is not open. O(log n)
+        public int indexOf(String title) {
+            Tab tab = tabs.get(normalizeKey(title));
+            return tab == null ? -1 : stripOf.get(tab).indexOf(tab);
+        }
+
+        // window a tab is in, -1 if it is not open
+        public int windowOf(String title) {
+            Tab tab = tabs.get(normalizeKey(title));
+            return tab == null ? -1 : windows.indexOf(stripOf.get(tab));
+        }
+
+        public void moveTab(String title, int window, int index) {
+            int position = move(title, window, index);
+            if (position < 0) {
+                System.out.println("Tab not found: " + title);
+                return;
+            }
+            System.out.printf(" Moved: %s to window %d, position %d\n",
+                    searchTab(title).getTitle(), window + 1, position + 1);
+        }
+
+        // drags a tab to index in a window, the same or another one. it keeps its
+        // pinned state and stays in that section. returns where it ended up, -1
+        // if there is no such tab. O(log n)
+        int move(String title, int window, int index) {
+            Tab tab = tabs.get(normalizeKey(title));
+            if (tab == null) {
+                return -1;
+            }
+            TabStrip target = window(window);
+            TabStrip strip = stripOf.get(tab);
+            int position;
+            if (strip == target) {
+                position = strip.move(tab, index);
+            } else {
+                boolean pinned = strip.isPinned(tab);
+                strip.remove(tab);
+                position = target.add(tab, index, pinned);
+                stripOf.put(tab, target);
+            }
+            if (journal != null) {
+                journal.logMove(tab.getTitle(), window, position);
+            }
+            return position;
+        }
+
+        public void pinTab(String title, boolean pinned) {
+            if (!setPinned(title, pinned)) {
+                System.out.println("Tab not found: " + title);
+                return;
+            }
+            System.out.println((pinned ? " Pinned: " : " Unpinned: ") + searchTab(title));
+        }
+
+        public boolean isPinned(String title) {
+            Tab tab = tabs.get(normalizeKey(title));
+            return tab != null && stripOf.get(tab).isPinned(tab);
+        }
+
+        // Time Complexity: O(log n)
+        boolean setPinned(String title, boolean pinned) {
+            Tab tab = tabs.get(normalizeKey(title));
+            if (tab == null) {
+                return false;
+            }
+            stripOf.get(tab).setPinned(tab, pinned);
+            if (journal != null) {
+                journal.logPin(tab.getTitle(), pinned);
+            }
+            return true;
+        }
+
+        // opens an empty window and makes it the active one, returns its number
+        public int newWindow() {
+            windows.add(new TabStrip());
+            if (journal != null) {
+                journal.logNewWindow();
+            }
+            selectWindow(windows.size() - 1);
+            return activeWindow;
+        }
+
+        public void selectWindow(int window) {
+            window(window);
+            if (window == activeWindow) {
+                return;
+            }
+            activeWindow = window;
+            if (journal != null) {
+                journal.logSelectWindow(window);
+            }
+        }
+
+        public int windowCount() { return windows.size(); }
+        public int activeWindow() { return activeWindow; }
+
+        TabStrip window(int window) {
+            if (window < 0 || window >= windows.size()) {
+                throw new IndexOutOfBoundsException(
+                        String.format("Window: %d, Windows: %d", window, windows.size())
+                );
+            }
+            return windows.get(window);
+        }
+
+        private void addToWindow(Tab tab, int window) {
+            TabStrip strip = windows.get(window);
+            strip.add(tab);
+            stripOf.put(tab, strip);
+        }
+
         public List<Tab> closeAllTabs() {
-            List<Tab> closedTabs = new ArrayList<>(tabs.values());
+            List<Tab> closedTabs = removeAllTabs();
             int count = closedTabs.size();
 
-            tabs.clear();
-
             System.out.println("✅ Closed all " + count + " tabs");
             return closedTabs;
         }
 
+        List<Tab> removeAllTabs() {
+            List<Tab> closedTabs = new ArrayList<>(openTabs());
+            tabs.clear();
+            for (TabStrip strip : windows) {
+                strip.clear();
+            }
+            stripOf.clear();
+            byHost.clear();
+            searchIndex.clear();
+            searchIndexStale = false;
+            loaded.clear();
+            loadedBytes = 0;
+            if (journal != null) {
+                journal.logCloseAll();
+            }
+            return closedTabs;
+        }
+
+        // open tabs window by window, each in tab order
+        List<Tab> openTabs() {
+            List<Tab> open = new ArrayList<>(tabs.size());
+            for (TabStrip strip : windows) {
+                open.addAll(strip.tabs());
+            }
+            return open;
+        }
+
+        void setJournal(TabSessionJournal journal) {
+            this.journal = journal;
+        }
+
+        public int size() { return tabs.size(); }
+        public int loadedTabCount() { return loaded.size(); }
+        public long loadedBytes() { return loadedBytes; }
+        public long evictions() { return evictions; }
+        public long restores() { return restores; }
+
+        public void displayMemoryStats() {
+            System.out.println("\n" + "═".repeat(80));
+            System.out.println("TAB MEMORY");
+            System.out.println("═".repeat(80));
+            System.out.printf("Loaded tabs : %d of %d open (limit %d)\n", loaded.size(), tabs.size(), maxLoadedTabs);
+            System.out.printf("Memory      : %d MB of %d MB budget\n", loadedBytes >> 20, memoryBudget >> 20);
+            System.out.printf("Suspended   : %d times, restored %d times\n", evictions, restores);
+            System.out.println("═".repeat(80) + "\n");
+        }
+
         private String normalizeKey(String title) {
             return title.trim().toLowerCase();
         }
@@ -110,11 +624,21 @@ public class BrowserTabsManager {
 
     static class TabHistory {
         private final Deque<Tab> closedTabs = new ArrayDeque<>();
-        private static final int MAX_HISTORY = 50;
+        static final int MAX_HISTORY = 50;
+
+        private TabSessionJournal journal;
 
         public void addToHistory(Tab tab) {
             if (tab == null) return;
 
+            push(tab);
+            if (journal != null) {
+                journal.logHistoryPush(Collections.singletonList(tab));
+            }
+        }
+
+        // also used to replay a saved session
+        void push(Tab tab) {
             closedTabs.push(tab);
 
             if (closedTabs.size() > MAX_HISTORY) {
@@ -122,13 +646,21 @@ public class BrowserTabsManager {
             }
         }
 
+        Tab pop() {
+            Tab tab = closedTabs.pop();
+            if (journal != null) {
+                journal.logHistoryPop();
+            }
+            return tab;
+        }
+
         public Tab reopenLastClosed(TabManager manager) {
             if (closedTabs.isEmpty()) {
                 System.out.println("No closed tabs to reopen");
                 return null;
             }
 
-            Tab tab = closedTabs.pop();
+            Tab tab = pop();
             manager.openTab(tab.getTitle(), tab.getUrl());
 
             return tab;
@@ -159,14 +691,32 @@ public class BrowserTabsManager {
             if (tabs == null || tabs.isEmpty()) return;
 
             for (int i = tabs.size() - 1; i >= 0; i--) {
-                addToHistory(tabs.get(i));
+                push(tabs.get(i));
+            }
+            if (journal != null) {
+                // one record for the whole batch, only what is still in history matters
+                journal.logHistoryPush(tabs.subList(0, Math.min(tabs.size(), MAX_HISTORY)));
             }
 
             System.out.println(tabs.size() + " tabs added to history");
         }
 
         public int size() { return closedTabs.size(); }
-        public void clear() { closedTabs.clear(); }
+        public void clear() {
+            closedTabs.clear();
+            if (journal != null) {
+                journal.logHistoryClear();
+            }
+        }
+
+        // most recently closed first
+        Iterable<Tab> closedTabs() {
+            return Collections.unmodifiableCollection(closedTabs);
+        }
+
+        void setJournal(TabSessionJournal journal) {
+            this.journal = journal;
+        }
     }
 
     private static void displayMenu() {
@@ -180,10 +730,24 @@ public class BrowserTabsManager {
         System.out.println(" 5.  Reopen last closed tab");
         System.out.println(" 6.  View recently closed tabs");
         System.out.println(" 7.  Close all tabs");
-        System.out.println(" 8.  Exit");
+        System.out.println(" 8.  Switch to tab");
+        System.out.println(" 9.  Tab memory usage");
+        System.out.println(" 10. Move tab");
+        System.out.println(" 11. Pin/unpin tab");
+        System.out.println(" 12. New window");
+        System.out.println(" 13. Close tabs by site");
+        System.out.println(" 14. Group tabs by site");
+        System.out.println(" 15. Exit");
         System.out.println("═".repeat(80));
     }
 
+    private static void printDomainCounts(TabManager tabManager) {
+        List<Map.Entry<String, Integer>> counts = tabManager.domainCounts();
+        for (int i = 0; i < Math.min(10, counts.size()); i++) {
+            System.out.printf("   %-40s %d tabs\n", counts.get(i).getKey(), counts.get(i).getValue());
+        }
+    }
+
     private static int getIntInput(Scanner sc, String prompt) {
         while (true) {
             try {
@@ -225,11 +789,23 @@ public class BrowserTabsManager {
         System.out.println(" Welcome to Browser Tab Manager ");
         System.out.println("═".repeat(80));
 
-        tabManager.openTab("GitHub", "https://github.com/theSahilThadani");
-        tabManager.openTab("Stack Overflow", "https://stackoverflow.com");
-        tabManager.openTab("Google", "https://google.com");
+        // opened up front: the menu never touches it, it only has to be closed at the end
+        TabSessionJournal journal = null;
+        try {
+            journal = TabSessionJournal.open(Paths.get("tab-session"), tabManager, history);
+        } catch (IOException e) {
+            System.err.println("Could not open the tab session, changes won't be saved: " + e.getMessage());
+        }
 
         try (Scanner sc = new Scanner(System.in)) {
+            if (tabManager.size() == 0 && history.size() == 0) {
+                tabManager.openTab("GitHub", "https://github.com/theSahilThadani");
+                tabManager.openTab("Stack Overflow", "https://stackoverflow.com");
+                tabManager.openTab("Google", "https://google.com");
+            } else {
+                System.out.println(" Restored " + tabManager.size() + " tabs and "
+                        + history.size() + " closed tabs from the last session");
+            }
             boolean running = true;
 
             while (running) {
@@ -259,16 +835,18 @@ public class BrowserTabsManager {
                             break;
 
                         case 4:
-                            String searchTitle = getStringInput(sc, "Enter tab title to search: ");
-                            Tab found = tabManager.searchTab(searchTitle);
+                            String searchText = getStringInput(sc, "Search tabs (title or URL): ");
+                            List<Tab> found = tabManager.findTabs(searchText, 10);
 
-                            if (found != null) {
-                                System.out.println("\n Tab found:");
+                            if (!found.isEmpty()) {
+                                System.out.println("\n Tabs found (" + found.size() + "):");
                                 System.out.println("═".repeat(80));
-                                System.out.println(found);
+                                for (int i = 0; i < found.size(); i++) {
+                                    System.out.printf("%2d. %s\n", i + 1, found.get(i));
+                                }
                                 System.out.println("═".repeat(80) + "\n");
                             } else {
-                                System.out.println("Tab not found: " + searchTitle);
+                                System.out.println("Tab not found: " + searchText);
                             }
                             break;
 
@@ -294,6 +872,45 @@ public class BrowserTabsManager {
                             break;
 
                         case 8:
+                            String switchTitle = getStringInput(sc, "Enter tab title to switch to: ");
+                            tabManager.switchToTab(switchTitle);
+                            break;
+
+                        case 9:
+                            tabManager.displayMemoryStats();
+                            break;
+
+                        case 10:
+                            String moveTitle = getStringInput(sc, "Enter tab title to move: ");
+                            int window = tabManager.windowCount() == 1 ? 1
+                                    : getIntInput(sc, "To window (1-" + tabManager.windowCount() + "): ");
+                            int position = getIntInput(sc, "To position: ");
+                            tabManager.moveTab(moveTitle, window - 1, position - 1);
+                            break;
+
+                        case 11:
+                            String pinTitle = getStringInput(sc, "Enter tab title to pin/unpin: ");
+                            tabManager.pinTab(pinTitle, !tabManager.isPinned(pinTitle));
+                            break;
+
+                        case 12:
+                            int newWindow = tabManager.newWindow();
+                            System.out.println(" Opened window " + (newWindow + 1) + ", new tabs open here");
+                            break;
+
+                        case 13:
+                            printDomainCounts(tabManager);
+                            String closeSite = getStringInput(sc, "Enter site to close (e.g. github.com): ");
+                            history.addAllToHistory(tabManager.closeByDomain(closeSite));
+                            break;
+
+                        case 14:
+                            printDomainCounts(tabManager);
+                            String groupSite = getStringInput(sc, "Enter site to group (e.g. github.com): ");
+                            tabManager.groupByDomain(groupSite);
+                            break;
+
+                        case 15:
                             System.out.println("═".repeat(80));
                             System.out.println(" Thank you for using Browser Tab Manager ");
                             System.out.println(" Goodbye");
@@ -302,7 +919,7 @@ public class BrowserTabsManager {
                             break;
 
                         default:
-                            System.out.println("Invalid choice. Please enter 1-8.");
+                            System.out.println("Invalid choice. Please enter 1-15.");
                     }
                 } catch (Exception e) {
                     System.out.println("Error: " + e.getMessage());
@@ -312,6 +929,14 @@ public class BrowserTabsManager {
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    System.err.println("Could not save the tab session: " + e.getMessage());
+                }
+            }
         }
 
     }
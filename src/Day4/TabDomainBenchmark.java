@@ -0,0 +1,72 @@
+package Day4;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import Day4.BrowserTabsManager.Tab;
+import Day4.BrowserTabsManager.TabHistory;
+import Day4.BrowserTabsManager.TabManager;
+
+// closing every tab of one site out of 10k open tabs, run main directly.
+// closeByDomain goes straight to the site's tabs through the host index and hands
+// them to history as one batch. the old way scanned every tab and called closeTab
+// and addToHistory for each match.
+public class TabDomainBenchmark {
+    private static final int TABS = 10_000;
+    private static final int SITES = 500;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        PrintStream out = System.out;
+        long indexed = Long.MAX_VALUE;
+        long scanned = Long.MAX_VALUE;
+        int closed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                TabManager manager = open();
+                TabHistory history = new TabHistory();
+                long start = System.nanoTime();
+                for (int site = 0; site < SITES; site += 10) {
+                    List<Tab> tabs = manager.closeByDomain("site" + site + ".com");
+                    history.addAllToHistory(tabs);
+                    closed = tabs.size();
+                }
+                indexed = Math.min(indexed, System.nanoTime() - start);
+
+                manager = open();
+                history = new TabHistory();
+                start = System.nanoTime();
+                for (int site = 0; site < SITES; site += 10) {
+                    String host = "site" + site + ".com";
+                    List<String> titles = new ArrayList<>();
+                    for (Tab tab : manager.openTabs()) {
+                        if (tab.getHost().equals(host)) {
+                            titles.add(tab.getTitle());
+                        }
+                    }
+                    for (String title : titles) {
+                        history.addToHistory(manager.closeTab(title));
+                    }
+                }
+                scanned = Math.min(scanned, System.nanoTime() - start);
+            } finally {
+                System.setOut(out);
+            }
+        }
+        int sites = SITES / 10;
+        System.out.printf("%d tabs, %d tabs per site, us per site closed (best of %d)\n", TABS, closed, ROUNDS);
+        System.out.printf("%-22s %10.1f\n", "closeByDomain", indexed / 1e3 / sites);
+        System.out.printf("%-22s %10.1f\n", "scan + closeTab", scanned / 1e3 / sites);
+    }
+
+    private static TabManager open() {
+        TabManager manager = new TabManager();
+        for (int i = 0; i < TABS; i++) {
+            manager.openTab("Tab " + i, "https://www.site" + (i % SITES) + ".com/page/" + i);
+        }
+        return manager;
+    }
+}
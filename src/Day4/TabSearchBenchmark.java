@@ -0,0 +1,106 @@
+package Day4;
+
+import java.util.Random;
+
+import Day4.BrowserTabsManager.Tab;
+
+// query latency of TabSearchIndex vs scanning every tab, run main directly.
+// 10k tabs over 500 made up sites with titles from a 2000 word made up vocabulary,
+// queries are substrings of real titles/urls plus the same strings with one typo.
+public class TabSearchBenchmark {
+    private static final int TABS = 10_000;
+    private static final int SITES = 500;
+    private static final int QUERIES = 20_000;
+    // scanning is far slower, it only runs the first few queries
+    private static final int SCAN_QUERIES = 200;
+    private static final int VOCABULARY = 2_000;
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ren", "tas", "vo", "dri", "pel", "sun", "gar",
+            "ix", "bro", "che", "nu", "fay", "tor", "ql", "wen", "zo", "ham"
+    };
+    private static long checksum;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 2 + random.nextInt(3); s > 0; s--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+        Tab[] tabs = new Tab[TABS];
+        for (int i = 0; i < TABS; i++) {
+            String title = words[random.nextInt(VOCABULARY)] + " " + words[random.nextInt(VOCABULARY)]
+                    + " " + words[random.nextInt(VOCABULARY)] + " #" + i;
+            String url = "https://www.site" + random.nextInt(SITES) + ".com/"
+                    + words[random.nextInt(VOCABULARY)] + "/" + i;
+            tabs[i] = new Tab(title, url);
+        }
+
+        TabSearchIndex index = null;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            long start = System.nanoTime();
+            index = new TabSearchIndex();
+            for (Tab tab : tabs) index.add(tab);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("indexed %d tabs in %.1f ms (best of 10)\n", TABS, best / 1e6);
+        TabSearchIndex searchIndex = index;
+
+        String[] exact = new String[QUERIES];
+        String[] typos = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            Tab tab = tabs[random.nextInt(TABS)];
+            String text = random.nextBoolean() ? tab.getTitle() : tab.getUrl().substring(12);
+            int from = random.nextInt(Math.max(1, text.length() - 8));
+            exact[i] = text.substring(from, Math.min(text.length(), from + 6 + random.nextInt(6))).toLowerCase();
+            char[] chars = exact[i].toCharArray();
+            chars[random.nextInt(chars.length)] = 'q';
+            typos[i] = new String(chars);
+        }
+
+        System.out.printf("%-18s %12s %12s\n", "us per query", "substring", "one typo");
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            long indexed = time(() -> { for (String q : exact) checksum += searchIndex.search(q, 10).size(); });
+            long indexedFuzzy = time(() -> { for (String q : typos) checksum += searchIndex.fuzzySearch(q, 10).size(); });
+            long scanned = time(() -> { for (int i = 0; i < SCAN_QUERIES; i++) checksum += scan(tabs, exact[i]); });
+            long scannedFuzzy = time(() -> { for (int i = 0; i < SCAN_QUERIES; i++) checksum += scanFuzzy(tabs, typos[i]); });
+            if (print) {
+                System.out.printf("%-18s %12.1f %12.1f\n", "TabSearchIndex", indexed / 1e3 / QUERIES, indexedFuzzy / 1e3 / QUERIES);
+                System.out.printf("%-18s %12.1f %12.1f\n", "scan all tabs", scanned / 1e3 / SCAN_QUERIES, scannedFuzzy / 1e3 / SCAN_QUERIES);
+            }
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+    private static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    private static int scan(Tab[] tabs, String q) {
+        int found = 0;
+        for (Tab tab : tabs) {
+            if (tab.getTitle().toLowerCase().contains(q) || tab.getUrl().toLowerCase().contains(q)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static int scanFuzzy(Tab[] tabs, String q) {
+        int found = 0;
+        for (Tab tab : tabs) {
+            if (TabSearchIndex.substringDistance(q, tab.getTitle().toLowerCase()) <= 1
+                    || TabSearchIndex.substringDistance(q, tab.getUrl().toLowerCase()) <= 1) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
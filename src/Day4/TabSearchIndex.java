@@ -0,0 +1,547 @@
+package Day4;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import Day4.BrowserTabsManager.Tab;
+
+// substring and typo tolerant search over tab titles and urls.
+// every 3 character slice (trigram) of a tab's lowercase title and url points to
+// the tabs that contain it. a substring query only has to look at tabs that have
+// all of the query's trigrams, a fuzzy query at tabs sharing enough of them
+// (k typos can break at most 3k trigrams), instead of scanning every open tab.
+//
+// tabs get dense int ids in opening order, so every posting list is a sorted int
+// array that only ever grows at the end. closed tabs leave dead ids behind which
+// are dropped when a list is more than half dead; when most ids in the whole index
+// are dead it is rebuilt with fresh ids.
+//
+// ranking: exact title, title prefix, title substring, url substring, then fuzzy
+// matches by edit distance; ties go to the most recently accessed tab.
+class TabSearchIndex {
+    private static final int GRAM = 3;
+    private static final int MIN_REBUILD = 1024;
+    private static final int COUNT_FILTER_FROM = 256;
+
+    private static final int EXACT = 0;
+    private static final int TITLE_PREFIX = 1;
+    private static final int TITLE_SUBSTRING = 2;
+    private static final int URL_SUBSTRING = 3;
+    private static final int FUZZY = 4;
+
+    // lowercase text that was indexed for a tab, needed again to unindex it
+    private static final class Entry {
+        final Tab tab;
+        final String title;
+        final String url;
+
+        Entry(Tab tab, String title, String url) {
+            this.tab = tab;
+            this.title = title;
+            this.url = url;
+        }
+    }
+
+    // growable list of tab ids. as a posting list: the tabs containing one
+    // trigram, ascending, dead counts the closed tabs still in it
+    private static final class IdList {
+        int[] ids = new int[4];
+        int size;
+        int dead;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    private static final class Match {
+        final Tab tab;
+        final int rank;
+        final long accessedAt;
+
+        Match(Tab tab, int rank, long accessedAt) {
+            this.tab = tab;
+            this.rank = rank;
+            this.accessedAt = accessedAt;
+        }
+
+        boolean betterThan(int otherRank, long otherAccessedAt) {
+            return rank < otherRank || (rank == otherRank && accessedAt > otherAccessedAt);
+        }
+    }
+
+    // the best limit matches seen so far, worst on top so it is cheap to replace
+    private static final class Results {
+        private final int limit;
+        private final PriorityQueue<Match> worstFirst;
+
+        Results(int limit) {
+            this.limit = limit;
+            this.worstFirst = new PriorityQueue<>(Math.min(limit, 64) + 1,
+                    (a, b) -> a.betterThan(b.rank, b.accessedAt) ? 1 : b.betterThan(a.rank, a.accessedAt) ? -1 : 0);
+        }
+
+        void offer(Tab tab, int rank) {
+            long accessedAt = tab.getLastAccessedAt();
+            if (worstFirst.size() == limit) {
+                if (worstFirst.peek().betterThan(rank, accessedAt)
+                        || (worstFirst.peek().rank == rank && worstFirst.peek().accessedAt == accessedAt)) {
+                    return;
+                }
+                worstFirst.poll();
+            }
+            worstFirst.add(new Match(tab, rank, accessedAt));
+        }
+
+        boolean isEmpty() {
+            return worstFirst.isEmpty();
+        }
+
+        List<Tab> toList() {
+            Tab[] best = new Tab[worstFirst.size()];
+            for (int i = best.length - 1; i >= 0; i--) {
+                best[i] = worstFirst.poll().tab;
+            }
+            return Arrays.asList(best);
+        }
+    }
+
+    private final Map<Tab, Integer> ids = new HashMap<>();
+    private final Map<Long, IdList> postings = new HashMap<>();
+    // by id, null once the tab is closed
+    private Entry[] entries = new Entry[16];
+    private int nextId;
+
+    // fuzzy search scratch: seen[id] == stamp when id is already a candidate,
+    // shared[id] = trigrams the tab has in common with the query (zero between searches)
+    private int[] seen = new int[16];
+    private int[] shared = new int[16];
+    private int stamp;
+
+    // Time Complexity: O(length of title + url)
+    public void add(Tab tab) {
+        if (ids.containsKey(tab)) {
+            return;
+        }
+        if (nextId == entries.length) {
+            entries = Arrays.copyOf(entries, nextId * 2);
+        }
+        int id = nextId++;
+        Entry entry = new Entry(tab, normalize(tab.getTitle()), normalize(stripScheme(tab.getUrl())));
+        entries[id] = entry;
+        ids.put(tab, id);
+        for (long gram : grams(entry)) {
+            postings.computeIfAbsent(gram, g -> new IdList()).add(id);
+        }
+    }
+
+    // Time Complexity: O(length of title + url) amortized
+    public void remove(Tab tab) {
+        Integer id = ids.remove(tab);
+        if (id == null) {
+            return;
+        }
+        Entry entry = entries[id];
+        entries[id] = null;
+        for (long gram : grams(entry)) {
+            IdList posting = postings.get(gram);
+            if (++posting.dead == posting.size) {
+                postings.remove(gram);
+            } else if (posting.dead > posting.size / 2) {
+                compact(posting);
+            }
+        }
+
+        int deadIds = nextId - ids.size();
+        if (deadIds > MIN_REBUILD && deadIds > ids.size()) {
+            rebuild();
+        }
+    }
+
+    public void clear() {
+        ids.clear();
+        postings.clear();
+        Arrays.fill(entries, 0, nextId, null);
+        nextId = 0;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    // tabs whose title or url contains the query, best first, at most limit
+    public List<Tab> search(String query, int limit) {
+        return search(query, limit, false);
+    }
+
+    // like search, and when nothing matches exactly also tabs within a few typos
+    public List<Tab> fuzzySearch(String query, int limit) {
+        return search(query, limit, true);
+    }
+
+    private List<Tab> search(String query, int limit, boolean fuzzy) {
+        String q = normalize(query);
+        if (q.contains("://")) {
+            q = stripScheme(q);
+        }
+        if (q.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Results results = new Results(limit);
+        if (q.length() < GRAM) {
+            // no trigram to look up, short queries check every tab
+            for (int id = 0; id < nextId; id++) {
+                offerSubstringMatch(id, q, results);
+            }
+        } else {
+            IdList candidates = new IdList();
+            containingAll(q, candidates);
+            for (int i = 0; i < candidates.size; i++) {
+                offerSubstringMatch(candidates.ids[i], q, results);
+            }
+        }
+        if (results.isEmpty() && fuzzy && q.length() >= GRAM) {
+            fuzzyMatches(q, results);
+        }
+        return results.toList();
+    }
+
+    // adds the open tabs having every trigram of text to into.
+    // walks the rarest posting list and binary searches the others
+    private void containingAll(String text, IdList into) {
+        Set<Long> textGrams = grams(text, new HashSet<>());
+        IdList[] lists = new IdList[textGrams.size()];
+        int n = 0;
+        for (long gram : textGrams) {
+            IdList posting = postings.get(gram);
+            if (posting == null) {
+                return;
+            }
+            lists[n++] = posting;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        IdList rarest = lists[0];
+        int[] from = new int[n];
+        outer:
+        for (int i = 0; i < rarest.size; i++) {
+            int id = rarest.ids[i];
+            if (entries[id] == null) {
+                continue;
+            }
+            for (int l = 1; l < n; l++) {
+                int found = Arrays.binarySearch(lists[l].ids, from[l], lists[l].size, id);
+                if (found < 0) {
+                    // ids only go up, later searches can start where this one stopped
+                    from[l] = -found - 1;
+                    continue outer;
+                }
+                from[l] = found + 1;
+            }
+            into.add(id);
+        }
+    }
+
+    private void offerSubstringMatch(int id, String q, Results results) {
+        Entry entry = entries[id];
+        if (entry == null) {
+            return;
+        }
+        int rank;
+        if (entry.title.equals(q)) {
+            rank = EXACT;
+        } else if (entry.title.startsWith(q)) {
+            rank = TITLE_PREFIX;
+        } else if (entry.title.contains(q)) {
+            rank = TITLE_SUBSTRING;
+        } else if (entry.url.contains(q)) {
+            rank = URL_SUBSTRING;
+        } else {
+            return; // has all the trigrams but not in one piece
+        }
+        results.offer(entry.tab, rank);
+    }
+
+    // filter, then an edit distance check on the tabs that pass.
+    // cut into maxTypos + 1 pieces, at least one piece of q survives the typos
+    // untouched, so only tabs containing some piece exactly can match. pieces too
+    // short to have a trigram fall back to tabs sharing any trigram with q
+    private void fuzzyMatches(String q, Results results) {
+        int maxTypos = q.length() < 12 ? 1 : 2;
+        int pieces = maxTypos + 1;
+
+        IdList found = new IdList();
+        if (q.length() >= pieces * GRAM) {
+            int[] cuts = cheapestCuts(q, pieces);
+            for (int i = 0; i < pieces; i++) {
+                containingAll(q.substring(cuts[i], cuts[i + 1]), found);
+            }
+        } else {
+            for (long gram : grams(q, new HashSet<>())) {
+                IdList posting = postings.get(gram);
+                if (posting != null) {
+                    for (int i = 0; i < posting.size; i++) {
+                        found.add(posting.ids[i]);
+                    }
+                }
+            }
+        }
+
+        if (seen.length < entries.length) {
+            seen = new int[entries.length];
+            shared = new int[entries.length];
+        }
+        if (++stamp == 0) {
+            Arrays.fill(seen, 0);
+            stamp = 1;
+        }
+
+        // lots of candidates (common pieces like ".com/"): also require the shared
+        // trigram count, every typo breaks at most GRAM of the query's trigrams
+        Set<Long> queryGrams = grams(q, new HashSet<>());
+        int needed = queryGrams.size() - GRAM * maxTypos;
+        boolean countFilter = found.size > COUNT_FILTER_FROM && needed > 1;
+        if (countFilter) {
+            countShared(queryGrams, 1);
+        }
+
+        BitParallelMatcher matcher = q.length() <= 64 ? new BitParallelMatcher(q) : null;
+        for (int i = 0; i < found.size; i++) {
+            int id = found.ids[i];
+            Entry entry = entries[id];
+            if (entry == null || seen[id] == stamp || (countFilter && shared[id] < needed)) {
+                continue;
+            }
+            seen[id] = stamp;
+            int distance = distance(q, matcher, entry.title);
+            if (distance > 1) {
+                // an exact match would have been found already, 1 is the best possible
+                distance = Math.min(distance, distance(q, matcher, entry.url));
+            }
+            if (distance <= maxTypos) {
+                results.offer(entry.tab, FUZZY + distance);
+            }
+        }
+
+        if (countFilter) {
+            countShared(queryGrams, -1);
+        }
+    }
+
+    // adds delta to shared[id] for every tab in the postings of the grams
+    private void countShared(Set<Long> grams, int delta) {
+        for (long gram : grams) {
+            IdList posting = postings.get(gram);
+            if (posting != null) {
+                for (int i = 0; i < posting.size; i++) {
+                    shared[posting.ids[i]] += delta;
+                }
+            }
+        }
+    }
+
+    private static int distance(String q, BitParallelMatcher matcher, String text) {
+        return matcher != null ? matcher.distance(text) : substringDistance(q, text);
+    }
+
+    // where to cut q into pieces (each at least GRAM long) so the pieces' rarest
+    // trigrams have the fewest tabs in total. a piece can only match tabs in its
+    // rarest trigram's posting list, so that bounds the candidates. small dynamic
+    // program over cut positions, q is short
+    private int[] cheapestCuts(String q, int pieces) {
+        int length = q.length();
+        int[] gramTabs = new int[length - GRAM + 1];
+        for (int i = 0; i < gramTabs.length; i++) {
+            IdList posting = postings.get(gram(q, i));
+            gramTabs[i] = posting == null ? 0 : posting.size;
+        }
+
+        // cost[c][j]: cheapest way to cut q[0, j) into c pieces, from[c][j]: start of the last one
+        long[][] cost = new long[pieces + 1][length + 1];
+        int[][] from = new int[pieces + 1][length + 1];
+        for (long[] row : cost) {
+            Arrays.fill(row, Long.MAX_VALUE);
+        }
+        cost[0][0] = 0;
+        for (int c = 1; c <= pieces; c++) {
+            for (int j = c * GRAM; j <= length; j++) {
+                // pieces [i, j) for i going down, keeping the min over their trigrams
+                int rarest = Integer.MAX_VALUE;
+                for (int i = j - GRAM; i >= (c - 1) * GRAM; i--) {
+                    rarest = Math.min(rarest, gramTabs[i]);
+                    if (cost[c - 1][i] != Long.MAX_VALUE && cost[c - 1][i] + rarest < cost[c][j]) {
+                        cost[c][j] = cost[c - 1][i] + rarest;
+                        from[c][j] = i;
+                    }
+                }
+            }
+        }
+
+        int[] cuts = new int[pieces + 1];
+        cuts[pieces] = length;
+        for (int c = pieces; c > 0; c--) {
+            cuts[c - 1] = from[c][cuts[c]];
+        }
+        return cuts;
+    }
+
+    // fewest edits turning q into some substring of text (Sellers' dynamic program)
+    static int substringDistance(String q, String text) {
+        int[] previous = new int[q.length() + 1];
+        int[] current = new int[q.length() + 1];
+        for (int i = 0; i <= q.length(); i++) {
+            previous[i] = i;
+        }
+        int best = previous[q.length()];
+
+        for (int j = 1; j <= text.length(); j++) {
+            char c = text.charAt(j - 1);
+            current[0] = 0; // a match may start anywhere in the text
+            for (int i = 1; i <= q.length(); i++) {
+                int substitute = previous[i - 1] + (q.charAt(i - 1) == c ? 0 : 1);
+                current[i] = Math.min(substitute, Math.min(previous[i], current[i - 1]) + 1);
+            }
+            best = Math.min(best, current[q.length()]);
+            if (best == 0) {
+                return 0;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return best;
+    }
+
+    // the same distance for queries up to 64 chars with Myers' bit vector algorithm:
+    // one column of the dynamic program is kept as bits of a long, so every text
+    // character costs a handful of bit operations instead of a loop over the query
+    static final class BitParallelMatcher {
+        private final int length;
+        private final long lastBit;
+        private final long[] ascii = new long[128];
+        private final Map<Character, Long> other = new HashMap<>();
+
+        BitParallelMatcher(String q) {
+            if (q.isEmpty() || q.length() > 64) {
+                throw new IllegalArgumentException("Query length must be 1..64");
+            }
+            length = q.length();
+            lastBit = 1L << (length - 1);
+            for (int i = 0; i < length; i++) {
+                char c = q.charAt(i);
+                if (c < 128) {
+                    ascii[c] |= 1L << i;
+                } else {
+                    other.merge(c, 1L << i, (a, b) -> a | b);
+                }
+            }
+        }
+
+        // min edit distance of the query to any substring of text
+        int distance(String text) {
+            long positive = -1L;
+            long negative = 0L;
+            int score = length;
+            int best = score;
+            for (int j = 0; j < text.length(); j++) {
+                char c = text.charAt(j);
+                long eq = c < 128 ? ascii[c] : other.getOrDefault(c, 0L);
+                long xv = eq | negative;
+                long xh = (((eq & positive) + positive) ^ positive) | eq;
+                long ph = negative | ~(xh | positive);
+                long mh = positive & xh;
+                if ((ph & lastBit) != 0) {
+                    score++;
+                } else if ((mh & lastBit) != 0) {
+                    score--;
+                }
+                ph <<= 1;
+                mh <<= 1;
+                positive = mh | ~(xv | ph);
+                negative = ph & xv;
+                if (score < best) {
+                    best = score;
+                    if (best == 0) {
+                        return 0;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+
+    private void compact(IdList posting) {
+        int kept = 0;
+        for (int i = 0; i < posting.size; i++) {
+            int id = posting.ids[i];
+            if (entries[id] != null) {
+                posting.ids[kept++] = id;
+            }
+        }
+        posting.size = kept;
+        posting.dead = 0;
+    }
+
+    // gives the open tabs fresh ids 0..size-1 and re-creates every posting list
+    private void rebuild() {
+        Entry[] live = new Entry[ids.size()];
+        int n = 0;
+        for (int id = 0; id < nextId; id++) {
+            if (entries[id] != null) {
+                live[n++] = entries[id];
+            }
+        }
+        clear();
+        for (int i = 0; i < n; i++) {
+            add(live[i].tab);
+        }
+    }
+
+    private static Set<Long> grams(Entry entry) {
+        Set<Long> grams = new HashSet<>();
+        grams(entry.title, grams);
+        grams(entry.url, grams);
+        return grams;
+    }
+
+    private static Set<Long> grams(String text, Set<Long> into) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            into.add(gram(text, i));
+        }
+        return into;
+    }
+
+    // the three chars at i packed into one key. Long.hashCode of the plain packing
+    // xors the first and last char together, so all ascii trigrams would land in a
+    // few hundred buckets; multiplying by an odd constant keeps keys unique and
+    // spreads them over all the bits
+    private static long gram(String text, int i) {
+        long packed = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        return packed * 0x9E3779B97F4A7C15L;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase();
+    }
+
+    // every url has these, they would only make the postings huge
+    private static String stripScheme(String url) {
+        int start = url.indexOf("://");
+        start = start < 0 ? 0 : start + 3;
+        if (url.regionMatches(true, start, "www.", 0, 4)) {
+            start += 4;
+        }
+        return url.substring(start);
+    }
+}
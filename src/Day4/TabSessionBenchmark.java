@@ -0,0 +1,151 @@
+package Day4;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import Day4.BrowserTabsManager.Tab;
+import Day4.BrowserTabsManager.TabHistory;
+import Day4.BrowserTabsManager.TabManager;
+
+// restore time of a saved tab session, run main directly.
+// the session is 10k open tabs, a few thousand switches and 1000 closed tabs
+// (history keeps the last 50). "journal" replays every record from an empty start,
+// "snapshot + tail" loads a snapshot and replays what was written after it.
+// the search index is built on the first search, it is not part of the restore.
+public class TabSessionBenchmark {
+    private static final int TABS = 10_000;
+    private static final int SWITCHES = 5_000;
+    private static final int CLOSES = 1_000;
+    // reopen + switch pairs after the snapshot
+    private static final int TAIL = 500;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) throws IOException {
+        Path journalOnly = Files.createTempDirectory("tab-session");
+        Path withSnapshot = Files.createTempDirectory("tab-session");
+        try {
+            record(journalOnly, false);
+            record(withSnapshot, true);
+
+            System.out.printf("%-18s %9s %10s %10s %10s\n", "", "records", "cold ms", "best ms", "tabs");
+            time("journal", journalOnly);
+            time("snapshot + tail", withSnapshot);
+            checkDomainRoundTrip();
+        } finally {
+            delete(journalOnly);
+            delete(withSnapshot);
+        }
+    }
+
+    private static void record(Path directory, boolean snapshot) throws IOException {
+        TabManager manager = new TabManager();
+        TabHistory history = new TabHistory();
+        try (TabSessionJournal journal = TabSessionJournal.open(directory, manager, history, Integer.MAX_VALUE)) {
+            quiet(() -> {
+                for (int i = 0; i < TABS; i++) {
+                    manager.openTab("Tab " + i, "https://www.site" + (i % 500) + ".com/page/" + i);
+                }
+                for (int i = 0; i < SWITCHES; i++) {
+                    manager.switchToTab("Tab " + (i * 7919 % TABS));
+                }
+                for (int i = 0; i < CLOSES; i++) {
+                    history.addToHistory(manager.closeTab("Tab " + (i * 3 % TABS)));
+                }
+                return null;
+            });
+            if (snapshot) {
+                journal.snapshot();
+                quiet(() -> {
+                    for (int i = 0; i < TAIL; i++) {
+                        history.reopenLastClosed(manager);
+                        manager.switchToTab("Tab " + (i * 31 % TABS + 1));
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    // a site closed live has to be the one closed on replay. "www.www.example.com"
+    // is the site www.example.com, replay must not turn it into example.com
+    private static void checkDomainRoundTrip() throws IOException {
+        Path directory = Files.createTempDirectory("tab-session");
+        try {
+            List<String> live;
+            TabManager manager = new TabManager();
+            TabSessionJournal journal = TabSessionJournal.open(directory, manager, new TabHistory());
+            try {
+                live = quiet(() -> {
+                    manager.openTab("Bare", "https://example.com/");
+                    manager.openTab("Www", "https://www.example.com/");
+                    manager.openTab("Double", "https://www.www.example.com/");
+                    manager.closeByDomain("www.www.example.com");
+                    return titles(manager);
+                });
+            } finally {
+                journal.close();
+            }
+            TabManager restored = new TabManager();
+            try (TabSessionJournal replay = TabSessionJournal.open(directory, restored, new TabHistory())) {
+                List<String> replayed = titles(restored);
+                System.out.printf("closeByDomain round trip: %s (live %s, restored %s from %d records)\n",
+                        live.equals(replayed) ? "OK" : "DIFFERS", live, replayed, replay.replayedRecords());
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static List<String> titles(TabManager manager) {
+        List<String> titles = new ArrayList<>();
+        for (Tab tab : manager.openTabs()) {
+            titles.add(tab.getTitle());
+        }
+        return titles;
+    }
+
+    private static void time(String name, Path directory) throws IOException {
+        long cold = 0;
+        long best = Long.MAX_VALUE;
+        long records = 0;
+        int tabs = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            TabManager manager = new TabManager();
+            TabHistory history = new TabHistory();
+            long start = System.nanoTime();
+            try (TabSessionJournal journal = TabSessionJournal.open(directory, manager, history, Integer.MAX_VALUE)) {
+                long elapsed = System.nanoTime() - start;
+                cold = round == 0 ? elapsed : cold;
+                best = Math.min(best, elapsed);
+                records = journal.replayedRecords();
+                tabs = manager.size();
+            }
+        }
+        System.out.printf("%-18s %9d %10.1f %10.1f %10d\n", name, records, cold / 1e6, best / 1e6, tabs);
+    }
+
+    // the managers print every open/close, keep that out of the benchmark output
+    private static <T> T quiet(Supplier<T> work) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return work.get();
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,577 @@
+package Day4;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import Day4.BrowserTabsManager.Tab;
+import Day4.BrowserTabsManager.TabHistory;
+import Day4.BrowserTabsManager.TabManager;
+
+// keeps the open tabs and the closed tab history across restarts.
+// every change is appended to session.journal as a small checksummed record, and
+// every snapshotEvery records the whole state is written to session.snapshot
+// (temp file + atomic rename, so there is always one complete snapshot) and the
+// journal starts over. restoring = load the snapshot, replay the journal after it.
+//
+// both files carry a generation number. a journal only belongs to the snapshot
+// with the same generation, so a crash between writing a snapshot and resetting
+// the journal can't replay old records on top of the new snapshot.
+// a record torn by a crash fails its length/crc check; replay stops there and the
+// tail is cut off.
+// the snapshot it replaces is kept as session.snapshot.prev. a snapshot that can't
+// be read is moved aside to .corrupt and the previous one is loaded instead, or the
+// session starts empty, so a damaged file never keeps the browser from starting.
+//
+// journal  = JOURNAL_MAGIC, generation long, then records of [length int][crc int][payload]
+// snapshot = SNAPSHOT_MAGIC, generation long, length int, crc int, then
+//            [tab count int][tabs, window by window][history count int][tabs, most recent first]
+//            [window count int][active window int][per window: tab count int, pinned count int]
+// tab      = title, url, memoryBytes long, openedAt long, lastAccessedAt long
+// string   = [byte count int][UTF-8 bytes]
+class TabSessionJournal implements Closeable {
+    static final String JOURNAL_FILE = "session.journal";
+    static final String SNAPSHOT_FILE = "session.snapshot";
+    static final String PREVIOUS_SNAPSHOT_FILE = "session.snapshot.prev";
+    static final int JOURNAL_MAGIC = 0x544A524E; // "TJRN"
+    static final int SNAPSHOT_MAGIC = 0x54534E50; // "TSNP"
+    static final int JOURNAL_HEADER_SIZE = 12;
+    static final int SNAPSHOT_HEADER_SIZE = 20;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final int DEFAULT_SNAPSHOT_EVERY = 10_000;
+
+    private static final byte OPEN = 1;
+    private static final byte CLOSE = 2;
+    private static final byte CLOSE_ALL = 3;
+    private static final byte ACCESS = 4;
+    private static final byte HISTORY_PUSH = 5;
+    private static final byte HISTORY_POP = 6;
+    private static final byte HISTORY_CLEAR = 7;
+    private static final byte MOVE = 8;
+    private static final byte PIN = 9;
+    private static final byte NEW_WINDOW = 10;
+    private static final byte SELECT_WINDOW = 11;
+    private static final byte CLOSE_DOMAIN = 12;
+
+    private final Path directory;
+    private final TabManager manager;
+    private final TabHistory history;
+    private final int snapshotEvery;
+    private final CRC32 crc = new CRC32();
+    // reused for every record, grows for long titles
+    private ByteBuffer record = ByteBuffer.allocate(512);
+
+    private FileChannel channel;
+    private long generation;
+    private int sinceSnapshot;
+    private long replayed;
+
+    private TabSessionJournal(Path directory, TabManager manager, TabHistory history, int snapshotEvery) {
+        this.directory = directory;
+        this.manager = manager;
+        this.history = history;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    static TabSessionJournal open(Path directory, TabManager manager, TabHistory history) throws IOException {
+        return open(directory, manager, history, DEFAULT_SNAPSHOT_EVERY);
+    }
+
+    // restores the saved session into an empty manager and history, then journals
+    // every change they make from now on
+    static TabSessionJournal open(Path directory, TabManager manager, TabHistory history,
+                                  int snapshotEvery) throws IOException {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        if (manager.size() != 0 || history.size() != 0) {
+            throw new IllegalStateException("Restore needs an empty manager and history");
+        }
+        TabSessionJournal journal = new TabSessionJournal(
+                Files.createDirectories(directory), manager, history, snapshotEvery);
+        journal.restore();
+        manager.setJournal(journal);
+        history.setJournal(journal);
+        return journal;
+    }
+
+    void logOpen(Tab tab) {
+        startRecord(OPEN);
+        putTab(tab);
+        append();
+    }
+
+    void logClose(String title) {
+        startRecord(CLOSE);
+        putString(title);
+        append();
+    }
+
+    // one record however many tabs the site had
+    void logCloseDomain(String host) {
+        startRecord(CLOSE_DOMAIN);
+        putString(host);
+        append();
+    }
+
+    void logCloseAll() {
+        startRecord(CLOSE_ALL);
+        append();
+    }
+
+    void logAccess(String title, long accessedAt) {
+        startRecord(ACCESS);
+        putString(title);
+        ensure(Long.BYTES);
+        record.putLong(accessedAt);
+        append();
+    }
+
+    // tabs in the order of the list are pushed last to first, like addAllToHistory
+    void logHistoryPush(List<Tab> tabs) {
+        startRecord(HISTORY_PUSH);
+        ensure(Integer.BYTES);
+        record.putInt(tabs.size());
+        for (Tab tab : tabs) {
+            putTab(tab);
+        }
+        append();
+    }
+
+    void logMove(String title, int window, int index) {
+        startRecord(MOVE);
+        putString(title);
+        ensure(2 * Integer.BYTES);
+        record.putInt(window).putInt(index);
+        append();
+    }
+
+    void logPin(String title, boolean pinned) {
+        startRecord(PIN);
+        putString(title);
+        ensure(1);
+        record.put((byte) (pinned ? 1 : 0));
+        append();
+    }
+
+    void logNewWindow() {
+        startRecord(NEW_WINDOW);
+        append();
+    }
+
+    void logSelectWindow(int window) {
+        startRecord(SELECT_WINDOW);
+        ensure(Integer.BYTES);
+        record.putInt(window);
+        append();
+    }
+
+    void logHistoryPop() {
+        startRecord(HISTORY_POP);
+        append();
+    }
+
+    void logHistoryClear() {
+        startRecord(HISTORY_CLEAR);
+        append();
+    }
+
+    // records replayed from the journal on the last restore
+    public long replayedRecords() {
+        return replayed;
+    }
+
+    // writes the full state and starts an empty journal for it
+    public void snapshot() throws IOException {
+        ByteBuffer body = ByteBuffer.allocate(4096);
+        List<Tab> open = new ArrayList<>(manager.openTabs());
+        body = putTabs(body, open);
+        List<Tab> closed = new ArrayList<>();
+        history.closedTabs().forEach(closed::add);
+        body = putTabs(body, closed);
+        body = putLayout(body);
+        body.flip();
+
+        crc.reset();
+        crc.update(body.array(), 0, body.limit());
+        ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE)
+                .putInt(SNAPSHOT_MAGIC)
+                .putLong(generation + 1)
+                .putInt(body.limit())
+                .putInt((int) crc.getValue())
+                .flip();
+
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] buffers = {header, body};
+            long remaining = header.remaining() + body.remaining();
+            while (remaining > 0) {
+                remaining -= out.write(buffers);
+            }
+            out.force(true);
+        }
+        Path current = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(current)) {
+            // a crash before the next move leaves only .prev, and the journal still matches it
+            Files.move(current, directory.resolve(PREVIOUS_SNAPSHOT_FILE),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(temp, current,
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // from here on the new snapshot is the session, the old journal is obsolete
+        generation++;
+        startJournal();
+    }
+
+    // pushes appended records to the device, they already survive a process crash
+    public void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        manager.setJournal(null);
+        history.setJournal(null);
+        if (channel != null) {
+            try {
+                channel.force(false);
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private void restore() throws IOException {
+        if (!loadSnapshotIfReadable(directory.resolve(SNAPSHOT_FILE))
+                && loadSnapshotIfReadable(directory.resolve(PREVIOUS_SNAPSHOT_FILE))) {
+            System.err.println("Restored the previous tab session snapshot, generation " + generation);
+        }
+
+        Path journal = directory.resolve(JOURNAL_FILE);
+        channel = FileChannel.open(journal, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        ByteBuffer data = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        while (data.hasRemaining() && channel.read(data, data.position()) > 0) {
+            // keep reading
+        }
+        data.flip();
+
+        if (data.remaining() < JOURNAL_HEADER_SIZE || data.getInt(0) != JOURNAL_MAGIC
+                || data.getLong(4) != generation) {
+            // no journal yet, or one written before the snapshot was taken
+            startJournal();
+            return;
+        }
+
+        int position = JOURNAL_HEADER_SIZE;
+        int end = data.limit();
+        while (end - position >= RECORD_HEADER_SIZE) {
+            int length = data.getInt(position);
+            int payloadStart = position + RECORD_HEADER_SIZE;
+            if (length <= 0 || length > end - payloadStart) {
+                break;
+            }
+            crc.reset();
+            crc.update(data.array(), payloadStart, length);
+            if ((int) crc.getValue() != data.getInt(position + 4)) {
+                break;
+            }
+            apply(data.duplicate().limit(payloadStart + length).position(payloadStart));
+            replayed++;
+            sinceSnapshot++;
+            position = payloadStart + length;
+        }
+
+        // drop a torn or corrupt tail so new records follow the last good one
+        channel.truncate(position);
+        channel.position(position);
+    }
+
+    // false when the file is missing or damaged. a damaged one is moved aside so the
+    // next snapshot can't rotate it over a good previous generation
+    private boolean loadSnapshotIfReadable(Path snapshot) throws IOException {
+        if (!Files.exists(snapshot)) {
+            return false;
+        }
+        try {
+            loadSnapshot(snapshot);
+            return true;
+        } catch (IOException e) {
+            Path aside = snapshot.resolveSibling(snapshot.getFileName() + ".corrupt");
+            Files.move(snapshot, aside, StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("Skipped tab session snapshot: " + e.getMessage() + ", moved to " + aside);
+            return false;
+        }
+    }
+
+    // decodes and checks the whole snapshot before restoring anything, so a bad one
+    // leaves the manager and history empty
+    private void loadSnapshot(Path snapshot) throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshot);
+        ByteBuffer data = ByteBuffer.wrap(bytes);
+        if (bytes.length < SNAPSHOT_HEADER_SIZE || data.getInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a tab session snapshot: " + snapshot);
+        }
+        long snapshotGeneration = data.getLong();
+        int length = data.getInt();
+        int expectedCrc = data.getInt();
+        if (length != bytes.length - SNAPSHOT_HEADER_SIZE) {
+            throw new IOException("Truncated tab session snapshot: " + snapshot);
+        }
+        crc.reset();
+        crc.update(bytes, SNAPSHOT_HEADER_SIZE, length);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Corrupt tab session snapshot: " + snapshot);
+        }
+
+        Tab[] open;
+        Tab[] closed;
+        // written before there were windows: everything in the first one
+        int[] counts = null;
+        int[] pinned = null;
+        int active = 0;
+        try {
+            open = getTabs(data);
+            closed = getTabs(data);
+            if (data.hasRemaining()) {
+                counts = new int[checkCount(data, data.getInt())];
+                pinned = new int[counts.length];
+                active = data.getInt();
+                int total = 0;
+                for (int window = 0; window < counts.length; window++) {
+                    counts[window] = data.getInt();
+                    pinned[window] = data.getInt();
+                    if (counts[window] < 0 || pinned[window] < 0 || pinned[window] > counts[window]) {
+                        throw new IOException("Bad window layout in tab session snapshot: " + snapshot);
+                    }
+                    total += counts[window];
+                }
+                if (counts.length == 0 || active < 0 || active >= counts.length || total != open.length) {
+                    throw new IOException("Bad window layout in tab session snapshot: " + snapshot);
+                }
+            }
+        } catch (RuntimeException e) {
+            // a checksum that matches a body that doesn't decode, e.g. from a buggy writer
+            throw new IOException("Unreadable tab session snapshot: " + snapshot, e);
+        }
+
+        generation = snapshotGeneration;
+        // stored most recent first, pushing oldest first rebuilds the same order
+        for (int i = closed.length - 1; i >= 0; i--) {
+            history.push(closed[i]);
+        }
+        if (counts == null) {
+            for (Tab tab : open) {
+                manager.restoreTab(tab);
+            }
+            return;
+        }
+        int next = 0;
+        for (int window = 0; window < counts.length; window++) {
+            if (window >= manager.windowCount()) {
+                manager.newWindow();
+            }
+            manager.selectWindow(window);
+            for (int i = 0; i < counts[window]; i++) {
+                Tab tab = open[next++];
+                manager.restoreTab(tab);
+                if (i < pinned[window]) {
+                    manager.setPinned(tab.getTitle(), true);
+                }
+            }
+        }
+        manager.selectWindow(active);
+    }
+
+    private void apply(ByteBuffer payload) {
+        byte type = payload.get();
+        switch (type) {
+            case OPEN:
+                manager.restoreTab(getTab(payload));
+                break;
+            case CLOSE:
+                manager.removeTab(getString(payload));
+                break;
+            case CLOSE_DOMAIN:
+                manager.removeHost(getString(payload));
+                break;
+            case CLOSE_ALL:
+                manager.removeAllTabs();
+                break;
+            case ACCESS:
+                manager.restoreAccess(getString(payload), payload.getLong());
+                break;
+            case HISTORY_PUSH:
+                Tab[] tabs = new Tab[payload.getInt()];
+                for (int i = 0; i < tabs.length; i++) {
+                    tabs[i] = getTab(payload);
+                }
+                for (int i = tabs.length - 1; i >= 0; i--) {
+                    history.push(tabs[i]);
+                }
+                break;
+            case HISTORY_POP:
+                if (history.size() > 0) {
+                    history.pop();
+                }
+                break;
+            case HISTORY_CLEAR:
+                history.clear();
+                break;
+            case MOVE:
+                manager.move(getString(payload), payload.getInt(), payload.getInt());
+                break;
+            case PIN:
+                manager.setPinned(getString(payload), payload.get() != 0);
+                break;
+            case NEW_WINDOW:
+                manager.newWindow();
+                break;
+            case SELECT_WINDOW:
+                manager.selectWindow(payload.getInt());
+                break;
+            default:
+                // a valid checksum with an unknown type: written by a newer version
+                break;
+        }
+    }
+
+    private void startJournal() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE)
+                .putInt(JOURNAL_MAGIC)
+                .putLong(generation)
+                .flip();
+        channel.truncate(0);
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+        sinceSnapshot = 0;
+    }
+
+    private void startRecord(byte type) {
+        record.clear();
+        record.position(RECORD_HEADER_SIZE);
+        record.put(type);
+    }
+
+    // fills in length and crc, writes the record, and snapshots when it is time
+    private void append() {
+        int length = record.position() - RECORD_HEADER_SIZE;
+        crc.reset();
+        crc.update(record.array(), RECORD_HEADER_SIZE, length);
+        record.putInt(0, length).putInt(4, (int) crc.getValue()).flip();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            if (++sinceSnapshot >= snapshotEvery) {
+                snapshot();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write tab session journal", e);
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (record.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + bytes));
+            record.flip();
+            record = larger.put(record);
+        }
+    }
+
+    private void putTab(Tab tab) {
+        putString(tab.getTitle());
+        putString(tab.getUrl());
+        ensure(3 * Long.BYTES);
+        record.putLong(tab.getLoadedBytes())
+                .putLong(tab.getOpenedAt())
+                .putLong(tab.getLastAccessedAt());
+    }
+
+    private void putString(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ensure(Integer.BYTES + bytes.length);
+        record.putInt(bytes.length).put(bytes);
+    }
+
+    // snapshot body part: count, then the tabs. returns the (possibly larger) buffer
+    private ByteBuffer putTabs(ByteBuffer body, List<Tab> tabs) {
+        ByteBuffer saved = record;
+        record = body;
+        ensure(Integer.BYTES);
+        record.putInt(tabs.size());
+        for (Tab tab : tabs) {
+            putTab(tab);
+        }
+        body = record;
+        record = saved;
+        return body;
+    }
+
+    // snapshot body part: how the tabs before it are split into windows
+    private ByteBuffer putLayout(ByteBuffer body) {
+        ByteBuffer saved = record;
+        record = body;
+        ensure((2 + 2 * manager.windowCount()) * Integer.BYTES);
+        record.putInt(manager.windowCount()).putInt(manager.activeWindow());
+        for (int window = 0; window < manager.windowCount(); window++) {
+            TabStrip strip = manager.window(window);
+            record.putInt(strip.size()).putInt(strip.pinnedCount());
+        }
+        body = record;
+        record = saved;
+        return body;
+    }
+
+    private static Tab[] getTabs(ByteBuffer data) {
+        Tab[] tabs = new Tab[checkCount(data, data.getInt())];
+        for (int i = 0; i < tabs.length; i++) {
+            tabs[i] = getTab(data);
+        }
+        return tabs;
+    }
+
+    // every element takes at least a byte, a count the data can't hold means corruption
+    private static int checkCount(ByteBuffer data, int count) {
+        if (count < 0 || count > data.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return count;
+    }
+
+    private static Tab getTab(ByteBuffer data) {
+        String title = getString(data);
+        String url = getString(data);
+        long memoryBytes = data.getLong();
+        long openedAt = data.getLong();
+        long lastAccessedAt = data.getLong();
+        return new Tab(title, url, memoryBytes, openedAt, lastAccessedAt);
+    }
+
+    private static String getString(ByteBuffer data) {
+        int length = data.getInt();
+        String text = new String(data.array(), data.arrayOffset() + data.position(), length, StandardCharsets.UTF_8);
+        data.position(data.position() + length);
+        return text;
+    }
+}
@@ -0,0 +1,292 @@
+package Day4;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import Day4.BrowserTabsManager.Tab;
+
+// the tabs of one window in the order they are shown, pinned tabs first.
+// an implicit treap (randomly balanced tree ordered by position, every node knows
+// its subtree size) with parent pointers, and a map from tab to its node.
+// position -> tab walks down from the root, tab -> position walks up from its node,
+// so get, indexOf, insert, remove and move are all O(log n) instead of rebuilding
+// a list or map. a range of k tabs is O(log n + k).
+class TabStrip {
+
+    private static final class Node {
+        final Tab tab;
+        final int priority;
+        int size = 1;
+        boolean pinned;
+        Node left;
+        Node right;
+        Node parent;
+
+        Node(Tab tab) {
+            this.tab = tab;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+
+        // size and the children's parent after left/right changed
+        void update() {
+            size = size(left) + size(right) + 1;
+            if (left != null) {
+                left.parent = this;
+            }
+            if (right != null) {
+                right.parent = this;
+            }
+        }
+    }
+
+    private final Map<Tab, Node> nodes = new HashMap<>();
+    private Node root;
+    private int pinnedCount;
+
+    public int size() {
+        return size(root);
+    }
+
+    public int pinnedCount() {
+        return pinnedCount;
+    }
+
+    public boolean contains(Tab tab) {
+        return nodes.containsKey(tab);
+    }
+
+    public boolean isPinned(Tab tab) {
+        Node node = nodes.get(tab);
+        return node != null && node.pinned;
+    }
+
+    // Time Complexity: O(log n)
+    public Tab get(int index) {
+        checkIndex(index);
+        return nodeAt(index).tab;
+    }
+
+    // position of the tab in this window, -1 if it is not here. O(log n)
+    public int indexOf(Tab tab) {
+        Node node = nodes.get(tab);
+        return node == null ? -1 : indexOf(node);
+    }
+
+    // new unpinned tab at the end
+    public void add(Tab tab) {
+        add(tab, size(), false);
+    }
+
+    // puts the tab at index, kept inside its own section: pinned tabs stay before
+    // unpinned ones, whatever index is asked for. returns where it went. O(log n)
+    public int add(Tab tab, int index, boolean pinned) {
+        if (nodes.containsKey(tab)) {
+            throw new IllegalArgumentException("Tab already in this window: " + tab.getTitle());
+        }
+        Node node = new Node(tab);
+        node.pinned = pinned;
+        nodes.put(tab, node);
+        if (pinned) {
+            pinnedCount++;
+        }
+        return insert(node, index);
+    }
+
+    // Time Complexity: O(log n)
+    public boolean remove(Tab tab) {
+        Node node = nodes.remove(tab);
+        if (node == null) {
+            return false;
+        }
+        detach(node);
+        if (node.pinned) {
+            pinnedCount--;
+        }
+        return true;
+    }
+
+    // drags the tab to index (within its section), returns where it ended up. O(log n)
+    public int move(Tab tab, int index) {
+        Node node = requireNode(tab);
+        detach(node);
+        return insert(node, index);
+    }
+
+    // pinned tabs go to the end of the pinned section, unpinned ones to the start
+    // of the rest, like a browser does. O(log n)
+    public void setPinned(Tab tab, boolean pinned) {
+        Node node = requireNode(tab);
+        if (node.pinned == pinned) {
+            return;
+        }
+        detach(node);
+        if (pinned) {
+            node.pinned = true;
+            insert(node, pinnedCount++);
+        } else {
+            node.pinned = false;
+            insert(node, --pinnedCount);
+        }
+    }
+
+    // tabs in [from, to), in order. O(log n + (to - from))
+    public List<Tab> range(int from, int to) {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException(
+                    String.format("From: %d, To: %d, Size: %d", from, to, size())
+            );
+        }
+        List<Tab> result = new ArrayList<>(to - from);
+        if (from == to) {
+            return result;
+        }
+        Node node = nodeAt(from);
+        for (int i = from; i < to; i++) {
+            result.add(node.tab);
+            node = successor(node);
+        }
+        return result;
+    }
+
+    public List<Tab> tabs() {
+        return range(0, size());
+    }
+
+    public void clear() {
+        nodes.clear();
+        root = null;
+        pinnedCount = 0;
+    }
+
+    // links a detached node in at index, clamped to its section
+    private int insert(Node node, int index) {
+        int size = size(root);
+        int lowest = node.pinned ? 0 : pinnedCount;
+        int highest = node.pinned ? pinnedCount - 1 : size;
+        index = Math.max(lowest, Math.min(index, highest));
+
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+        node.size = 1;
+        Node[] parts = split(root, index);
+        setRoot(merge(merge(parts[0], node), parts[1]));
+        return index;
+    }
+
+    // unlinks the node from the tree, its tab stays in the map
+    private void detach(Node node) {
+        Node[] parts = split(root, indexOf(node));
+        Node[] rest = split(parts[1], 1);
+        setRoot(merge(parts[0], rest[1]));
+    }
+
+    private void setRoot(Node node) {
+        root = node;
+        if (root != null) {
+            root.parent = null;
+        }
+    }
+
+    private Node requireNode(Tab tab) {
+        Node node = nodes.get(tab);
+        if (node == null) {
+            throw new IllegalArgumentException("Tab not in this window: " + tab.getTitle());
+        }
+        return node;
+    }
+
+    private Node nodeAt(int index) {
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    // everything left of the node is before it: its left subtree, and for every
+    // ancestor it sits right of, that ancestor and the ancestor's left subtree
+    private static int indexOf(Node node) {
+        int index = size(node.left);
+        for (; node.parent != null; node = node.parent) {
+            if (node == node.parent.right) {
+                index += size(node.parent.left) + 1;
+            }
+        }
+        return index;
+    }
+
+    private static Node successor(Node node) {
+        if (node.right != null) {
+            node = node.right;
+            while (node.left != null) {
+                node = node.left;
+            }
+            return node;
+        }
+        while (node.parent != null && node == node.parent.right) {
+            node = node.parent;
+        }
+        return node.parent;
+    }
+
+    // first count tabs on the left, the rest on the right
+    private static Node[] split(Node node, int count) {
+        if (node == null) {
+            return new Node[2];
+        }
+        int leftSize = size(node.left);
+        if (count <= leftSize) {
+            Node[] parts = split(node.left, count);
+            node.left = parts[1];
+            node.update();
+            parts[1] = node;
+            return parts;
+        }
+        Node[] parts = split(node.right, count - leftSize - 1);
+        node.right = parts[0];
+        node.update();
+        parts[0] = node;
+        return parts;
+    }
+
+    // every tab of a before every tab of b
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.update();
+            return a;
+        }
+        b.left = merge(a, b.left);
+        b.update();
+        return b;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index: %d, Size: %d", index, size())
+            );
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package Day4;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+
+import Day4.BrowserTabsManager.Tab;
+
+// dragging tabs around a 10k tab window, run main directly.
+// TabStrip moves a tab and looks up its position in O(log n). before it, tab order
+// was the insertion order of a LinkedHashMap, so a move meant rebuilding the map
+// and finding a position meant walking it.
+public class TabStripBenchmark {
+    private static final int TABS = 10_000;
+    private static final int MOVES = 100_000;
+    // rebuilding is far slower, it only runs the first few moves
+    private static final int REBUILD_MOVES = 500;
+    private static long checksum;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Tab[] tabs = new Tab[TABS];
+        for (int i = 0; i < TABS; i++) {
+            tabs[i] = new Tab("Tab " + i, "https://www.site" + (i % 500) + ".com/" + i);
+        }
+        int[] moved = new int[MOVES];
+        int[] targets = new int[MOVES];
+        for (int i = 0; i < MOVES; i++) {
+            moved[i] = random.nextInt(TABS);
+            targets[i] = random.nextInt(TABS);
+        }
+
+        System.out.printf("%-22s %12s %12s\n", "us per operation", "move", "indexOf");
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+
+            TabStrip strip = new TabStrip();
+            for (Tab tab : tabs) strip.add(tab);
+            long stripMove = time(() -> { for (int i = 0; i < MOVES; i++) checksum += strip.move(tabs[moved[i]], targets[i]); });
+            long stripIndex = time(() -> { for (int i = 0; i < MOVES; i++) checksum += strip.indexOf(tabs[moved[i]]); });
+
+            LinkedHashMap<String, Tab> map = new LinkedHashMap<>();
+            for (Tab tab : tabs) map.put(tab.getTitle(), tab);
+            long mapMove = time(() -> { for (int i = 0; i < REBUILD_MOVES; i++) checksum += rebuild(map, tabs[moved[i]], targets[i]); });
+            long mapIndex = time(() -> { for (int i = 0; i < REBUILD_MOVES; i++) checksum += scan(map, tabs[moved[i]]); });
+
+            if (print) {
+                System.out.printf("%-22s %12.2f %12.2f\n", "TabStrip", stripMove / 1e3 / MOVES, stripIndex / 1e3 / MOVES);
+                System.out.printf("%-22s %12.2f %12.2f\n", "rebuild LinkedHashMap",
+                        mapMove / 1e3 / REBUILD_MOVES, mapIndex / 1e3 / REBUILD_MOVES);
+            }
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+    private static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    private static int rebuild(LinkedHashMap<String, Tab> map, Tab tab, int index) {
+        List<Tab> order = new ArrayList<>(map.values());
+        order.remove(tab);
+        order.add(index, tab);
+        map.clear();
+        for (Tab t : order) map.put(t.getTitle(), t);
+        return index;
+    }
+
+    private static int scan(LinkedHashMap<String, Tab> map, Tab tab) {
+        int index = 0;
+        for (Tab t : map.values()) {
+            if (t == tab) return index;
+            index++;
+        }
+        return -1;
+    }
+}